@@ -24,6 +24,8 @@ package com.itextpdf.io.codec;
 
 import com.itextpdf.io.source.ByteBuffer;
 
+import java.util.Arrays;
+
 /**
  * Encodes data in the CCITT G4 FAX format.
  */
@@ -33,11 +35,11 @@ public class CCITTG4Encoder {
     private int rowpixels;
     private int bit = 8;
     private int data;
-    private byte[] refline;
     private ByteBuffer outBuf = new ByteBuffer(1024);
-    private byte[] dataBp;
-    private int offsetData;
-    private int sizeData;
+    // Changing elements (positions of the pixels whose color differs from the previous pixel) of the coding
+    // and of the reference line, followed by at least three rowpixels sentinels.
+    private int[] codingChanges;
+    private int[] referenceChanges;
 
     /**
      * Creates a new encoder.
@@ -46,24 +48,29 @@ public class CCITTG4Encoder {
     public CCITTG4Encoder(int width) {
         rowpixels = width;
         rowbytes = (rowpixels + 7) / 8;
-        refline = new byte[rowbytes];
+        // the padding bits of the last byte may add changing elements before they are dropped
+        codingChanges = new int[rowbytes * 8 + 3];
+        referenceChanges = new int[rowbytes * 8 + 3];
+        // the imaginary line above the first one is white
+        Arrays.fill(referenceChanges, rowpixels);
     }
 
     /**
-     * Encodes a number of lines.
+     * Encodes a number of lines. The lines may be passed in any number of calls, e.g. a line at a time,
+     * the data is not referenced after the call returns.
      * @param data the data to be encoded
      * @param offset the offset into the data
      * @param size the size of the data to be encoded
      */
     public void fax4Encode(byte[] data, int offset, int size) {
-        dataBp = data;
-        offsetData = offset;
-        sizeData = size;
-        while (sizeData > 0) {
-            Fax3Encode2DRow();
-            System.arraycopy(dataBp, offsetData, refline, 0, rowbytes);
-            offsetData += rowbytes;
-            sizeData -= rowbytes;
+        while (size > 0) {
+            findChanges(data, offset, codingChanges);
+            fax3Encode2DRow(codingChanges, referenceChanges);
+            int[] changes = referenceChanges;
+            referenceChanges = codingChanges;
+            codingChanges = changes;
+            offset += rowbytes;
+            size -= rowbytes;
         }
     }
 
@@ -133,20 +140,70 @@ public class CCITTG4Encoder {
         }
     }
 
-    private void Fax3Encode2DRow() {
+    /**
+     * Finds the changing elements of a line, scanning the packed pixels 64 at a time.
+     * @param bp the data of the line
+     * @param offset the offset of the line in the data
+     * @param changes the array to store the changing elements in
+     */
+    private void findChanges(byte[] bp, int offset, int[] changes) {
+        int n = 0;
+        int color = 0;
+        int pos = 0;
+        int end = offset + rowbytes;
+        for (; offset + 8 <= end; offset += 8, pos += 64) {
+            long word = ((long) (bp[offset] & 0xff) << 56) | ((long) (bp[offset + 1] & 0xff) << 48)
+                    | ((long) (bp[offset + 2] & 0xff) << 40) | ((long) (bp[offset + 3] & 0xff) << 32)
+                    | ((long) (bp[offset + 4] & 0xff) << 24) | ((bp[offset + 5] & 0xff) << 16)
+                    | ((bp[offset + 6] & 0xff) << 8) | (bp[offset + 7] & 0xff);
+            // bits set where the pixel differs from the current color
+            long diff = color == 0 ? word : ~word;
+            while (diff != 0) {
+                int index = Long.numberOfLeadingZeros(diff);
+                changes[n++] = pos + index;
+                color ^= 1;
+                diff = index == 63 ? 0 : (color == 0 ? word : ~word) & (-1L >>> (index + 1));
+            }
+        }
+        for (; offset < end; offset++, pos += 8) {
+            int b = bp[offset] & 0xff;
+            int diff = color == 0 ? b : b ^ 0xff;
+            while (diff != 0) {
+                int index = Integer.numberOfLeadingZeros(diff) - 24;
+                changes[n++] = pos + index;
+                color ^= 1;
+                diff = (color == 0 ? b : b ^ 0xff) & (0xff >> (index + 1));
+            }
+        }
+        // the padding bits of the last byte are not part of the line
+        while (n > 0 && changes[n - 1] >= rowpixels) {
+            n--;
+        }
+        changes[n] = rowpixels;
+        changes[n + 1] = rowpixels;
+        changes[n + 2] = rowpixels;
+    }
+
+    private void fax3Encode2DRow(int[] coding, int[] reference) {
         int a0 = 0;
-        int a1 = (pixel(dataBp, offsetData, 0) != 0 ? 0 : finddiff(dataBp, offsetData, 0, rowpixels, 0));
-        int b1 = (pixel(refline, 0, 0) != 0 ? 0 : finddiff(refline, 0, 0, rowpixels, 0));
+        int color = coding[0] == 0 ? 1 : 0;
+        int a1 = coding[0];
+        int b1 = reference[0];
+        // indices of a1 and b1 in the changing elements
+        int codingIndex = 0;
+        int referenceIndex = 0;
+        // index of the first changing element of the reference line to the right of a0
+        int referenceStart = 0;
         int a2, b2;
 
         for (;;) {
-            b2 = finddiff2(refline, 0, b1, rowpixels, pixel(refline, 0,b1));
+            b2 = reference[referenceIndex + 1];
             if (b2 >= a1) {
                 int d = b1 - a1;
                 if (!(-3 <= d && d <= 3)) {	/* horizontal mode */
-                    a2 = finddiff2(dataBp, offsetData, a1, rowpixels, pixel(dataBp, offsetData,a1));
+                    a2 = coding[codingIndex + 1];
                     putcode(horizcode);
-                    if (a0+a1 == 0 || pixel(dataBp, offsetData, a0) == 0) {
+                    if (a0+a1 == 0 || color == 0) {
                         putspan(a1-a0, TIFFFaxWhiteCodes);
                         putspan(a2-a1, TIFFFaxBlackCodes);
                     } else {
@@ -164,9 +221,18 @@ public class CCITTG4Encoder {
             }
             if (a0 >= rowpixels)
                 break;
-            a1 = finddiff(dataBp, offsetData, a0, rowpixels, pixel(dataBp, offsetData,a0));
-            b1 = finddiff(refline, 0, a0, rowpixels, pixel(dataBp, offsetData,a0) ^ 1);
-            b1 = finddiff(refline, 0, b1, rowpixels, pixel(dataBp, offsetData,a0));
+            while (coding[codingIndex] <= a0) {
+                codingIndex++;
+            }
+            a1 = coding[codingIndex];
+            // the number of changing elements up to a0 gives its color
+            color = codingIndex & 1;
+            while (reference[referenceStart] <= a0) {
+                referenceStart++;
+            }
+            // changing elements at even indices turn the line black, b1 shall change to the color opposite to a0
+            referenceIndex = referenceStart + ((referenceStart & 1) ^ color);
+            b1 = reference[referenceIndex];
         }
     }
 
@@ -189,138 +255,6 @@ public class CCITTG4Encoder {
         return outBuf.toByteArray();
     }
 
-    private int pixel(byte[] data, int offset, int bit) {
-        if (bit >= rowpixels)
-            return 0;
-        return ((data[offset + (bit >> 3)] & 0xff) >> (7-((bit)&7))) & 1;
-    }
-
-    private static int find1span(byte[] bp, int offset, int bs, int be) {
-        int bits = be - bs;
-        int n, span;
-
-        int pos = offset + (bs >> 3);
-        /*
-         * Check partial byte on lhs.
-         */
-        if (bits > 0 && (n = (bs & 7)) != 0) {
-            span = oneruns[(bp[pos] << n) & 0xff];
-            if (span > 8-n)		/* table value too generous */
-                span = 8-n;
-            if (span > bits)	/* constrain span to bit range */
-                span = bits;
-            if (n+span < 8)		/* doesn't extend to edge of byte */
-                return span;
-            bits -= span;
-            pos++;
-        } else
-            span = 0;
-        /*
-         * Scan full bytes for all 1's.
-         */
-        while (bits >= 8) {
-            if (bp[pos] != (byte) 0xff)	/* end of run */
-                return (span + oneruns[bp[pos] & 0xff]);
-            span += 8;
-            bits -= 8;
-            pos++;
-        }
-        /*
-         * Check partial byte on rhs.
-         */
-        if (bits > 0) {
-            n = oneruns[bp[pos] & 0xff];
-            span += (n > bits ? bits : n);
-        }
-        return span;
-    }
-
-    private static int find0span(byte[] bp, int offset, int bs, int be) {
-        int bits = be - bs;
-        int n, span;
-
-        int pos = offset + (bs >> 3);
-        /*
-         * Check partial byte on lhs.
-         */
-        if (bits > 0 && (n = (bs & 7)) != 0) {
-            span = zeroruns[(bp[pos] << n) & 0xff];
-            if (span > 8-n)		/* table value too generous */
-                span = 8-n;
-            if (span > bits)	/* constrain span to bit range */
-                span = bits;
-            if (n+span < 8)		/* doesn't extend to edge of byte */
-                return span;
-            bits -= span;
-            pos++;
-        } else
-            span = 0;
-        /*
-         * Scan full bytes for all 1's.
-         */
-        while (bits >= 8) {
-            if (bp[pos] != 0)	/* end of run */
-                return (span + zeroruns[bp[pos] & 0xff]);
-            span += 8;
-            bits -= 8;
-            pos++;
-        }
-        /*
-         * Check partial byte on rhs.
-         */
-        if (bits > 0) {
-            n = zeroruns[bp[pos] & 0xff];
-            span += (n > bits ? bits : n);
-        }
-        return span;
-    }
-
-    private static int finddiff(byte[] bp, int offset, int bs, int be, int color) {
-        return bs + (color != 0 ? find1span(bp, offset, bs, be) : find0span(bp, offset, bs, be));
-    }
-
-    private static int finddiff2(byte[] bp, int offset, int bs, int be, int color) {
-        return bs < be ? finddiff(bp, offset, bs, be, color) : be;
-    }
-
-    private static byte[] zeroruns = {
-            8, 7, 6, 6, 5, 5, 5, 5, 4, 4, 4, 4, 4, 4, 4, 4,	/* 0x00 - 0x0f */
-            3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,	/* 0x10 - 0x1f */
-            2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2,	/* 0x20 - 0x2f */
-            2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2,	/* 0x30 - 0x3f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x40 - 0x4f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x50 - 0x5f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x60 - 0x6f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x70 - 0x7f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x80 - 0x8f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x90 - 0x9f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0xa0 - 0xaf */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0xb0 - 0xbf */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0xc0 - 0xcf */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0xd0 - 0xdf */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0xe0 - 0xef */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0	/* 0xf0 - 0xff */
-    };
-
-    private static byte[] oneruns = {
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x00 - 0x0f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x10 - 0x1f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x20 - 0x2f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x30 - 0x3f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x40 - 0x4f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x50 - 0x5f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x60 - 0x6f */
-            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,	/* 0x70 - 0x7f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x80 - 0x8f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0x90 - 0x9f */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0xa0 - 0xaf */
-            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,	/* 0xb0 - 0xbf */
-            2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2,	/* 0xc0 - 0xcf */
-            2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2,	/* 0xd0 - 0xdf */
-            3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,	/* 0xe0 - 0xef */
-            4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, 5, 6, 6, 7, 8	/* 0xf0 - 0xff */
-    };
-
     private static final int LENGTH = 0; /* bit length of g3 code */
     private static final int CODE = 1;   /* g3 code */
     private static final int RUNLEN = 2; /* run length in bits */
@@ -96,6 +96,9 @@ public class Jbig2SegmentReader {
     private boolean number_of_pages_known;
     private int number_of_pages = -1;
     private boolean read = false;
+    // getGlobal(true) is requested for every page embedded from the same reader
+    private byte[] globalForEmbedding;
+    private boolean globalForEmbeddingCollected = false;
 
     /**
      * Inner class that holds information about a JBIG2 segment.
@@ -404,6 +407,26 @@ public class Jbig2SegmentReader {
     }
 
     public byte[] getGlobal(boolean for_embedding){
+        if (for_embedding) {
+            if (!globalForEmbeddingCollected) {
+                globalForEmbedding = collectGlobal(true);
+                globalForEmbeddingCollected = true;
+            }
+            return globalForEmbedding;
+        }
+        return collectGlobal(false);
+    }
+
+    /**
+     * Checks whether the segments have already been read with {@link #read()}.
+     *
+     * @return {@code true} if the segments have been read, {@code false} otherwise
+     */
+    public boolean isRead() {
+        return read;
+    }
+
+    private byte[] collectGlobal(boolean for_embedding) {
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         byte[] streamBytes = null;
         try {
@@ -30,6 +30,13 @@ final class BitReader {
 
   private InputStream input;
 
+  /**
+   * Input array, used instead of {@link #input} when the whole compressed data is already in memory.
+   */
+  private byte[] inputBytes;
+  private int inputBytesOffset;
+  private int inputBytesEnd;
+
   /**
    * Input stream is finished.
    */
@@ -78,7 +85,7 @@ final class BitReader {
     br.intOffset = 0;
     try {
       while (bytesRead < BYTE_READ_SIZE) {
-        int len = br.input.read(br.byteBuffer, bytesRead, BYTE_READ_SIZE - bytesRead);
+        int len = read(br, br.byteBuffer, bytesRead, BYTE_READ_SIZE - bytesRead);
         // EOF is -1 in Java, but 0 in C#.
         if (len <= 0) {
           br.endOfStreamReached = true;
@@ -137,11 +144,36 @@ final class BitReader {
    * @param input data source
    */
   static void init(BitReader br, InputStream input) {
-    if (br.input != null) {
+    if (br.input != null || br.inputBytes != null) {
       throw new IllegalStateException("Bit reader already has associated input stream");
     }
-    IntReader.init(br.intReader, br.byteBuffer, br.intBuffer);
     br.input = input;
+    reset(br);
+  }
+
+  /**
+   * Initialize bit reader with an in-memory input.
+   *
+   * <p> The data is copied to the internal buffer in big chunks, without going through
+   * an {@link InputStream}.
+   *
+   * @param br BitReader POJO
+   * @param data array containing the compressed data
+   * @param offset offset of the compressed data in the array
+   * @param length length of the compressed data
+   */
+  static void init(BitReader br, byte[] data, int offset, int length) {
+    if (br.input != null || br.inputBytes != null) {
+      throw new IllegalStateException("Bit reader already has associated input stream");
+    }
+    br.inputBytes = data;
+    br.inputBytesOffset = offset;
+    br.inputBytesEnd = offset + length;
+    reset(br);
+  }
+
+  private static void reset(BitReader br) {
+    IntReader.init(br.intReader, br.byteBuffer, br.intBuffer);
     br.accumulator = 0;
     br.bitOffset = 64;
     br.intOffset = CAPACITY;
@@ -165,6 +197,7 @@ final class BitReader {
   static void close(BitReader br) throws IOException {
     InputStream is = br.input;
     br.input = null;
+    br.inputBytes = null;
     if (is != null) {
       is.close();
     }
@@ -232,7 +265,7 @@ final class BitReader {
     // Now it is possible to copy bytes directly.
     try {
       while (length > 0) {
-        int len = br.input.read(data, offset, length);
+        int len = read(br, data, offset, length);
         if (len == -1) {
           throw new BrotliRuntimeException("Unexpected end of input");
         }
@@ -243,4 +276,17 @@ final class BitReader {
       throw new BrotliRuntimeException("Failed to read input", e);
     }
   }
+
+  private static int read(BitReader br, byte[] data, int offset, int length) throws IOException {
+    if (br.inputBytes == null) {
+      return br.input.read(data, offset, length);
+    }
+    int len = Math.min(length, br.inputBytesEnd - br.inputBytesOffset);
+    if (len <= 0) {
+      return -1;
+    }
+    System.arraycopy(br.inputBytes, br.inputBytesOffset, data, offset, len);
+    br.inputBytesOffset += len;
+    return len;
+  }
 }
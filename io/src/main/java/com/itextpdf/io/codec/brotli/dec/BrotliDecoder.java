@@ -0,0 +1,210 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec.brotli.dec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decoder of brotli data which is already available in memory.
+ *
+ * <p> Unlike {@link BrotliInputStream}, the compressed data is read directly from the array
+ * and decoded directly into the destination array. The decoder keeps its state between the
+ * calls, so lookup tables and ring buffer allocated for one stream are reused for the next one.
+ *
+ * <p> Not thread-safe.
+ */
+public final class BrotliDecoder {
+
+  private static final int INITIAL_OUTPUT_SIZE = 4096;
+
+  /**
+   * By default ring buffers for windows bigger than the default 4 MiB one are not kept between the streams.
+   */
+  private static final int DEFAULT_MAX_RETAINED_RING_BUFFER_SIZE = 1 << 22;
+
+  /**
+   * Decoder state, reused between the streams.
+   */
+  private final State state = new State();
+
+  /**
+   * Scratch buffer used to check that the whole stream fits into destination.
+   */
+  private final byte[] probe = new byte[1];
+
+  /**
+   * Ring buffers bigger than this size, not counting the slack for the dictionary words, are
+   * dropped once the stream is decoded.
+   */
+  private final int maxRetainedRingBufferSize;
+
+  /**
+   * Creates a new reusable brotli decoder which keeps ring buffers of up to 4 MiB between the streams.
+   */
+  public BrotliDecoder() {
+    this(DEFAULT_MAX_RETAINED_RING_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new reusable brotli decoder.
+   *
+   * <p> Decoders which live long, e.g. the ones kept per thread, should retain only small ring
+   * buffers, so that a single big stream does not pin megabytes of memory to the decoder.
+   *
+   * @param maxRetainedRingBufferSize maximum size of the ring buffer kept between the streams, i.e.
+   *        of the window, bigger ones are reallocated for every stream
+   */
+  public BrotliDecoder(int maxRetainedRingBufferSize) {
+    this.maxRetainedRingBufferSize = maxRetainedRingBufferSize;
+  }
+
+  /**
+   * Decodes the whole brotli stream into the destination array.
+   *
+   * @param src array containing the compressed data
+   * @param srcOffset offset of the compressed data in the array
+   * @param srcLength length of the compressed data
+   * @param dst destination array
+   * @param dstOffset offset in the destination array to write decoded data to
+   * @param dstLength maximum number of bytes to write
+   * @return number of decoded bytes
+   * @throws IOException in case of corrupted data, or if decoded data does not fit into
+   *         {@code dstLength} bytes
+   */
+  public int decode(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength)
+      throws IOException {
+    checkBounds(src, srcOffset, srcLength);
+    checkBounds(dst, dstOffset, dstLength);
+    open(src, srcOffset, srcLength);
+    try {
+      int decoded = decompress(dst, dstOffset, dstLength);
+      if (decompress(probe, 0, 1) != 0) {
+        throw new IOException("Brotli stream decoding failed: output buffer is too small");
+      }
+      return decoded;
+    } catch (BrotliRuntimeException ex) {
+      throw new IOException("Brotli stream decoding failed", ex);
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Decodes the whole brotli stream into a new array.
+   *
+   * @param src array containing the compressed data
+   * @param srcOffset offset of the compressed data in the array
+   * @param srcLength length of the compressed data
+   * @return decoded data
+   * @throws IOException in case of corrupted data
+   */
+  public byte[] decode(byte[] src, int srcOffset, int srcLength) throws IOException {
+    checkBounds(src, srcOffset, srcLength);
+    open(src, srcOffset, srcLength);
+    try {
+      byte[] dst = new byte[INITIAL_OUTPUT_SIZE];
+      int length = 0;
+      while (true) {
+        int decoded = decompress(dst, length, dst.length - length);
+        length += decoded;
+        if (length < dst.length) {
+          break;
+        }
+        dst = Arrays.copyOf(dst, dst.length << 1);
+      }
+      return length == dst.length ? dst : Arrays.copyOf(dst, length);
+    } catch (BrotliRuntimeException ex) {
+      throw new IOException("Brotli stream decoding failed", ex);
+    } finally {
+      release();
+    }
+  }
+
+  /**
+   * Decodes the whole brotli stream stored between position and limit of the buffer.
+   *
+   * <p> Buffers backed by an accessible array are decoded without copying. The position of
+   * the buffer is not changed.
+   *
+   * @param src buffer containing the compressed data
+   * @return decoded data
+   * @throws IOException in case of corrupted data
+   */
+  public byte[] decode(ByteBuffer src) throws IOException {
+    if (src.hasArray()) {
+      return decode(src.array(), src.arrayOffset() + src.position(), src.remaining());
+    }
+    byte[] data = new byte[src.remaining()];
+    src.duplicate().get(data);
+    return decode(data, 0, data.length);
+  }
+
+  private void open(byte[] src, int srcOffset, int srcLength) throws IOException {
+    try {
+      State.setInput(state, src, srcOffset, srcLength);
+    } catch (BrotliRuntimeException ex) {
+      // State stays uninitialized, only the input has to be detached.
+      BitReader.close(state.br);
+      throw new IOException("Brotli decoder initialization failed", ex);
+    }
+  }
+
+  private int decompress(byte[] dst, int dstOffset, int dstLength) {
+    state.output = dst;
+    state.outputOffset = dstOffset;
+    state.outputLength = dstLength;
+    state.outputUsed = 0;
+    Decode.decompress(state);
+    return state.outputUsed;
+  }
+
+  private void release() throws IOException {
+    State.close(state);
+    State.reset(state);
+    if (getRetainedRingBufferSize() > maxRetainedRingBufferSize) {
+      state.ringBuffer = null;
+    }
+  }
+
+  /**
+   * Gets the size of the ring buffer kept for the next stream.
+   *
+   * @return size of the retained ring buffer without the slack, 0 if there is none
+   */
+  int getRetainedRingBufferSize() {
+    return state.ringBuffer == null ? 0 : state.ringBuffer.length - Dictionary.MAX_TRANSFORMED_WORD_LENGTH;
+  }
+
+  private static void checkBounds(byte[] array, int offset, int length) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Bad offset: " + offset);
+    } else if (length < 0) {
+      throw new IllegalArgumentException("Bad length: " + length);
+    } else if (offset + length > array.length) {
+      throw new IllegalArgumentException(
+          "Buffer overflow: " + (offset + length) + " > " + array.length);
+    }
+  }
+}
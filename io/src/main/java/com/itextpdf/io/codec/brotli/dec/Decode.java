@@ -392,10 +392,19 @@ final class Decode {
       return;
     }
     int ringBufferSizeWithSlack = newSize + Dictionary.MAX_TRANSFORMED_WORD_LENGTH;
-    byte[] newBuffer = new byte[ringBufferSizeWithSlack];
-    if (state.ringBuffer != null) {
-      System.arraycopy(state.ringBuffer, 0, newBuffer, 0, state.ringBufferSize);
-    } else {
+    byte[] newBuffer = state.ringBuffer;
+    if (newBuffer == null || newBuffer.length < ringBufferSizeWithSlack) {
+      /* Buffer left from a previous stream of a reset state is reused when it is big enough. */
+      newBuffer = new byte[ringBufferSizeWithSlack];
+      if (state.ringBufferSize != 0) {
+        System.arraycopy(state.ringBuffer, 0, newBuffer, 0, state.ringBufferSize);
+      }
+    }
+    if (state.ringBufferSize == 0) {
+      /* Literal context of the first bytes is taken from the ring buffer tail, which must be empty,
+       * while a reused buffer still holds bytes of the previous stream there. */
+      newBuffer[newSize - 1] = 0;
+      newBuffer[newSize - 2] = 0;
       /* Prepend custom dictionary, if any. */
       if (state.customDictionary.length != 0) {
         int length = state.customDictionary.length;
@@ -94,6 +94,26 @@ final class State {
       throw new IllegalStateException("State MUST be uninitialized");
     }
     BitReader.init(state.br, input);
+    readWindowBits(state);
+  }
+
+  /**
+   * Associate in-memory input with decoder state.
+   *
+   * @param state uninitialized state without associated input
+   * @param data array containing the compressed data
+   * @param offset offset of the compressed data in the array
+   * @param length length of the compressed data
+   */
+  static void setInput(State state, byte[] data, int offset, int length) {
+    if (state.runningState != RunningState.UNINITIALIZED) {
+      throw new IllegalStateException("State MUST be uninitialized");
+    }
+    BitReader.init(state.br, data, offset, length);
+    readWindowBits(state);
+  }
+
+  private static void readWindowBits(State state) {
     int windowBits = decodeWindowBits(state.br);
     if (windowBits == 9) { /* Reserved case for future expansion. */
       throw new BrotliRuntimeException("Invalid 'windowBits' code");
@@ -113,4 +133,54 @@ final class State {
     state.runningState = RunningState.CLOSED;
     BitReader.close(state.br);
   }
+
+  /**
+   * Return closed state to the uninitialized one, so that it could be used to decode another stream.
+   *
+   * <p> Lookup tables and ring buffer are kept and reused by the next stream when they are big enough.
+   * Bytes of the previous stream are left in the ring buffer, the next stream clears the ones it reads
+   * before writing them.
+   *
+   * @param state closed state
+   */
+  static void reset(State state) {
+    if (state.runningState != RunningState.CLOSED) {
+      throw new IllegalStateException("State MUST be closed");
+    }
+    state.runningState = RunningState.UNINITIALIZED;
+    state.nextRunningState = 0;
+    state.metaBlockLength = 0;
+    state.inputEnd = false;
+    state.isUncompressed = false;
+    state.isMetadata = false;
+    state.distRb[0] = 16;
+    state.distRb[1] = 15;
+    state.distRb[2] = 11;
+    state.distRb[3] = 4;
+    state.pos = 0;
+    state.maxDistance = 0;
+    state.distRbIdx = 0;
+    state.trivialLiteralContext = false;
+    state.literalTreeIndex = 0;
+    state.literalTree = 0;
+    state.j = 0;
+    state.insertLength = 0;
+    state.contextModes = null;
+    state.contextMap = null;
+    state.distContextMap = null;
+    state.distanceCode = 0;
+    state.distance = 0;
+    state.copyLength = 0;
+    state.copyDst = 0;
+    state.ringBufferSize = 0;
+    state.expectedTotalSize = 0;
+    state.customDictionary = new byte[0];
+    state.bytesToIgnore = 0;
+    state.outputOffset = 0;
+    state.outputLength = 0;
+    state.outputUsed = 0;
+    state.bytesWritten = 0;
+    state.bytesToWrite = 0;
+    state.output = null;
+  }
 }
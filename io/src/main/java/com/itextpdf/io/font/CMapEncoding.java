@@ -30,7 +30,9 @@ import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteBuffer;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import org.slf4j.LoggerFactory;
@@ -79,7 +81,7 @@ public class CMapEncoding {
         } else {
             cid2Code = CjkResourceLoader.getCidToCodepointCmap(cmap);
             code2Cid = CMapEncoding.getCodeToCidCmap(cmap, cid2Code);
-            this.codeSpaceRanges = cid2Code.getCodeSpaceRanges();
+            this.codeSpaceRanges = copyCodeSpaceRanges(cid2Code.getCodeSpaceRanges());
         }
     }
 
@@ -89,7 +91,7 @@ public class CMapEncoding {
         try {
             CMapParser.parseCid(cmap, cid2Code, new CMapLocationFromBytes(cmapBytes));
             code2Cid = CMapEncoding.getCodeToCidCmap(cmap, cid2Code);
-            this.codeSpaceRanges = cid2Code.getCodeSpaceRanges();
+            this.codeSpaceRanges = copyCodeSpaceRanges(cid2Code.getCodeSpaceRanges());
         } catch (IOException e) {
             LoggerFactory.getLogger(getClass()).error(IoLogMessageConstant.FAILED_TO_PARSE_ENCODING_STREAM);
         }
@@ -157,10 +159,7 @@ public class CMapEncoding {
             array[offset++] = (byte)((cid & 0xff00) >> 8);
             array[offset++] = (byte)(cid & 0xff);
         } else {
-            byte[] bytes = cid2Code.lookup(cid);
-            for (int i = 0; i < bytes.length; i++) {
-                array[offset++] = bytes[i];
-            }
+            offset = cid2Code.fillCode(cid, array, offset);
         }
         return offset;
     }
@@ -170,8 +169,7 @@ public class CMapEncoding {
             buffer.append((byte)((cid & 0xff00) >> 8));
             buffer.append((byte)(cid & 0xff));
         } else {
-            byte[] bytes = cid2Code.lookup(cid);
-            buffer.append(bytes);
+            cid2Code.appendCode(cid, buffer);
         }
     }
 
@@ -179,7 +177,7 @@ public class CMapEncoding {
         if (isDirect) {
             return 2;
         } else {
-            return cid2Code.lookup(cid).length;
+            return cid2Code.getCodeLength(cid);
         }
     }
 
@@ -191,8 +189,22 @@ public class CMapEncoding {
         }
     }
 
+    /**
+     * Gets the code space ranges of the CMap as sequential pairs of their beginnings and endings.
+     *
+     * @return unmodifiable list of {@code byte[]} that contain code space ranges, or {@code null} if the CMap
+     * could not be parsed
+     */
     public List<byte[]> getCodeSpaceRanges() {
-        return codeSpaceRanges;
+        return codeSpaceRanges == null ? null : Collections.unmodifiableList(codeSpaceRanges);
+    }
+
+    private static List<byte[]> copyCodeSpaceRanges(List<byte[]> ranges) {
+        List<byte[]> copy = new ArrayList<>(ranges.size());
+        for (byte[] range : ranges) {
+            copy.add(range == null ? null : range.clone());
+        }
+        return copy;
     }
 
     private static CMapCodepointToCid getCodeToCidCmap(String cmap, CMapCidToCodepoint cid2Code) {
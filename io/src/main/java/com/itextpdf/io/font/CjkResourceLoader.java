@@ -51,12 +51,19 @@ public final class CjkResourceLoader {
 
     private static final Map<String, Map<String, Object>> allCidFonts = new LinkedHashMap<>();
     private static final Map<String, Set<String>> registryNames = new HashMap<>();
+    // Parsed CMaps are never modified after parsing, so they are shared between all the callers
+    private static final Map<String, AbstractCMap> parsedCmaps = new HashMap<>();
 
     private static final String CJK_REGISTRY_FILENAME = "cjk_registry.properties";
     private static final String FONTS_PROP = "fonts";
     private static final String REGISTRY_PROP = "Registry";
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
+    private static final String CID_TO_UNI_KEY_PREFIX = "cid2uni/";
+    private static final String UNI_TO_CID_KEY_PREFIX = "uni2cid/";
+    private static final String BYTE_TO_CID_KEY_PREFIX = "byte2cid/";
+    private static final String CID_TO_CODEPOINT_KEY_PREFIX = "cid2codepoint/";
+    private static final String CODEPOINT_TO_CID_KEY_PREFIX = "codepoint2cid/";
 
     private static CMapLocationResource cmapLocation;
 
@@ -142,11 +149,15 @@ public final class CjkResourceLoader {
      *
      * @param uniMap a CMap name. It is expected that CMap identified by this name defines unicode to cid mapping.
      * @return an object for convenient mapping from cid to unicode. If no CMap was found for provided name
-     * an exception is thrown.
+     * an exception is thrown. The CMap is parsed once and the same read-only instance is returned to all callers.
      */
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        String key = CID_TO_UNI_KEY_PREFIX + uniMap;
+        CMapCidUni cidUni = (CMapCidUni) getParsedCmap(key);
+        if (cidUni == null) {
+            cidUni = (CMapCidUni) putParsedCmap(key, parseCmap(uniMap, new CMapCidUni()));
+        }
+        return cidUni;
     }
 
     /**
@@ -154,10 +165,15 @@ public final class CjkResourceLoader {
      *
      * @param uniMap a CMap name. It is expected that CMap identified by this name defines unicode to cid mapping.
      * @return an object for convenient mapping from unicode to cid. If no CMap was found for provided name
-     * an exception is thrown.
+     * an exception is thrown. The CMap is parsed once and the same read-only instance is returned to all callers.
      */
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapUniCid());
+        String key = UNI_TO_CID_KEY_PREFIX + uniMap;
+        CMapUniCid uniCid = (CMapUniCid) getParsedCmap(key);
+        if (uniCid == null) {
+            uniCid = (CMapUniCid) putParsedCmap(key, parseCmap(uniMap, new CMapUniCid()));
+        }
+        return uniCid;
     }
 
     /**
@@ -165,11 +181,15 @@ public final class CjkResourceLoader {
      *
      * @param cmap a CMap name. It is expected that CMap identified by this name defines byte to cid mapping.
      * @return an object for convenient mapping from byte to cid. If no CMap was found for provided name
-     * an exception is thrown.
+     * an exception is thrown. The CMap is parsed once and the same read-only instance is returned to all callers.
      */
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        String key = BYTE_TO_CID_KEY_PREFIX + cmap;
+        CMapByteCid byteCid = (CMapByteCid) getParsedCmap(key);
+        if (byteCid == null) {
+            byteCid = (CMapByteCid) putParsedCmap(key, parseCmap(cmap, new CMapByteCid()));
+        }
+        return byteCid;
     }
 
     /**
@@ -177,11 +197,15 @@ public final class CjkResourceLoader {
      *
      * @param cmap a CMap name. It is expected that CMap identified by this name defines code point to cid mapping.
      * @return an object for convenient mapping from cid to code point. If no CMap was found for provided name
-     * an exception is thrown.
+     * an exception is thrown. The CMap is parsed once and the same read-only instance is returned to all callers.
      */
     public static CMapCidToCodepoint getCidToCodepointCmap(String cmap) {
-        CMapCidToCodepoint cidByte = new CMapCidToCodepoint();
-        return parseCmap(cmap, cidByte);
+        String key = CID_TO_CODEPOINT_KEY_PREFIX + cmap;
+        CMapCidToCodepoint cidByte = (CMapCidToCodepoint) getParsedCmap(key);
+        if (cidByte == null) {
+            cidByte = (CMapCidToCodepoint) putParsedCmap(key, parseCmap(cmap, new CMapCidToCodepoint()));
+        }
+        return cidByte;
     }
 
     /**
@@ -189,14 +213,22 @@ public final class CjkResourceLoader {
      *
      * @param uniMap a CMap name. It is expected that CMap identified by this name defines code point to cid mapping.
      * @return an object for convenient mapping from code point to cid. If no CMap was found for provided name
-     * an exception is thrown.
+     * an exception is thrown. The CMap is parsed once and the same read-only instance is returned to all callers.
      */
     public static CMapCodepointToCid getCodepointToCidCmap(String uniMap) {
-        return parseCmap(uniMap, new CMapCodepointToCid());
+        String key = CODEPOINT_TO_CID_KEY_PREFIX + uniMap;
+        CMapCodepointToCid codepointCid = (CMapCodepointToCid) getParsedCmap(key);
+        if (codepointCid == null) {
+            codepointCid = (CMapCodepointToCid) putParsedCmap(key, parseCmap(uniMap, new CMapCodepointToCid()));
+        }
+        return codepointCid;
     }
 
     static void setCmapLocation(CMapLocationResource cmapLocation) {
         CjkResourceLoader.cmapLocation = cmapLocation;
+        synchronized (parsedCmaps) {
+            parsedCmaps.clear();
+        }
         try {
             loadRegistry();
         } catch (Exception ignored) {
@@ -270,6 +302,27 @@ public final class CjkResourceLoader {
         return h;
     }
 
+    private static AbstractCMap getParsedCmap(String key) {
+        synchronized (parsedCmaps) {
+            return parsedCmaps.get(key);
+        }
+    }
+
+    /**
+     * Stores the parsed CMap unless the same CMap has been stored concurrently by another thread,
+     * in which case the stored one is returned, so that all callers share a single instance.
+     */
+    private static AbstractCMap putParsedCmap(String key, AbstractCMap cmap) {
+        synchronized (parsedCmaps) {
+            AbstractCMap storedCmap = parsedCmaps.get(key);
+            if (storedCmap != null) {
+                return storedCmap;
+            }
+            parsedCmaps.put(key, cmap);
+            return cmap;
+        }
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, cmapLocation);
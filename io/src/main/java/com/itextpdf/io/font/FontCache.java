@@ -28,13 +28,54 @@ import com.itextpdf.io.font.cmap.CMapCidUni;
 import com.itextpdf.io.font.cmap.CMapCodepointToCid;
 import com.itextpdf.io.font.cmap.CMapUniCid;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Cache of the {@link FontProgram}s created by {@link FontProgramFactory} with {@code cached} flag set.
+ * <p>
+ * The cache is unbounded by default. A positive footprint limit can be set with {@link #setMaxFootprint(long)},
+ * in which case the least recently used fonts are evicted once the estimated footprint of the cached fonts
+ * exceeds it, and a zero limit disables the cache. Built-in standard Type 1 fonts are cached and never evicted
+ * regardless of the limit. The same convention is used by {@link com.itextpdf.io.image.ImageDataCache}.
+ * Once the limit is exceeded, fonts are evicted in a batch until the footprint drops an eighth of the limit below it,
+ * so that the cache is not sorted by recency again on each of the following saves.
+ * <p>
+ * Lookups don't lock. The recency of cached fonts is only tracked while a footprint limit is set, so fonts which
+ * were looked up before the limit was set are ordered by the time they were saved.
+ */
 public class FontCache {
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    /**
+     * Rough estimation of the heap used by a single glyph of a font program: the {@link com.itextpdf.io.font.otf.Glyph}
+     * itself and its entries in the code and unicode maps.
+     */
+    static final long GLYPH_FOOTPRINT = 128;
+
+    /**
+     * Once the footprint limit is exceeded, the fonts are evicted until the footprint is one eighth of the limit
+     * below it.
+     */
+    static final int EVICTION_BATCH_DIVISOR = 8;
+
+    private static final Map<FontCacheKey, CacheEntry> fontCache = new ConcurrentHashMap<>();
+
+    // Only eviction is serialized, lookups and saving go through the concurrent map.
+    private static final Object evictionLock = new Object();
+
+    private static final AtomicLong accessClock = new AtomicLong();
+    private static final AtomicLong footprint = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
+
+    private static volatile long maxFootprint = -1;
 
     /**
      * Checks if the font with the given name and encoding is one
@@ -123,15 +164,89 @@ public class FontCache {
      * This in its turn affects creation of fonts via factories when {@code cached} argument is set to true (which is by default).
      */
     public static void clearSavedFonts() {
-        fontCache.clear();
+        for (FontCacheKey key : new ArrayList<>(fontCache.keySet())) {
+            CacheEntry entry = fontCache.remove(key);
+            if (entry != null) {
+                footprint.addAndGet(-entry.footprint);
+            }
+        }
+    }
+
+    /**
+     * Sets the limit of the estimated footprint of the cached fonts in bytes. Once it is exceeded,
+     * the least recently used fonts are evicted from the cache. The footprint of a font is estimated by
+     * the number of its glyphs.
+     * <p>
+     * Pass a negative value to make the cache unbounded, which is the default. Zero disables the cache.
+     *
+     * @param maxFootprint the limit of the estimated footprint of the cached fonts in bytes,
+     *                     or negative value for the unbounded cache
+     */
+    public static void setMaxFootprint(long maxFootprint) {
+        FontCache.maxFootprint = maxFootprint;
+        evictIfNeeded(null);
+    }
+
+    /**
+     * Gets the limit of the estimated footprint of the cached fonts in bytes.
+     *
+     * @return the limit of the footprint, negative value if the cache is unbounded or zero if it is disabled
+     */
+    public static long getMaxFootprint() {
+        return maxFootprint;
+    }
+
+    /**
+     * Gets the estimated footprint of the cached fonts in bytes.
+     *
+     * @return the estimated footprint of the cached fonts
+     */
+    public static long getFootprint() {
+        return footprint.get();
+    }
+
+    /**
+     * Gets the number of font lookups which found a cached font.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of font lookups which did not find a cached font.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of fonts evicted from the cache because of the footprint limit.
+     *
+     * @return the number of evicted fonts
+     */
+    public static long getEvictionCount() {
+        return evictionCount.get();
     }
 
     public static FontProgram getFont(String fontName) {
-        return fontCache.get(FontCacheKey.create(fontName));
+        return getFont(FontCacheKey.create(fontName));
     }
 
     static FontProgram getFont(FontCacheKey key) {
-        return fontCache.get(key);
+        CacheEntry entry = fontCache.get(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        if (maxFootprint >= 0) {
+            entry.lastAccess = accessClock.incrementAndGet();
+        }
+        return entry.font;
     }
 
     public static FontProgram saveFont(FontProgram font, String fontName) {
@@ -139,11 +254,73 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
+        CacheEntry entryFound = fontCache.get(key);
+        if (entryFound != null) {
+            return entryFound.font;
+        }
+        boolean pinned = isPinned(font);
+        if (maxFootprint == 0 && !pinned) {
+            return font;
+        }
+        long fontFootprint = pinned ? 0 : (long) font.countOfGlyphs() * GLYPH_FOOTPRINT;
+        CacheEntry entry = new CacheEntry(font, fontFootprint, accessClock.incrementAndGet());
+        entryFound = fontCache.putIfAbsent(key, entry);
+        if (entryFound != null) {
+            return entryFound.font;
         }
-        fontCache.put(key, font);
+        footprint.addAndGet(fontFootprint);
+        evictIfNeeded(key);
         return font;
     }
+
+    // The font saved last is kept even if it exceeds the limit alone. The fonts are evicted in a batch, down to
+    // the low-water mark below the limit, so that the cache is not sorted again on each of the following saves.
+    private static void evictIfNeeded(FontCacheKey savedKey) {
+        if (maxFootprint < 0 || footprint.get() <= maxFootprint) {
+            return;
+        }
+        synchronized (evictionLock) {
+            final long limit = maxFootprint;
+            if (limit < 0 || footprint.get() <= limit) {
+                // another thread has already evicted the fonts
+                return;
+            }
+            final long lowWaterMark = limit - limit / EVICTION_BATCH_DIVISOR;
+            List<Map.Entry<FontCacheKey, CacheEntry>> entries = new ArrayList<>(fontCache.entrySet());
+            Collections.sort(entries, new Comparator<Map.Entry<FontCacheKey, CacheEntry>>() {
+                @Override
+                public int compare(Map.Entry<FontCacheKey, CacheEntry> o1, Map.Entry<FontCacheKey, CacheEntry> o2) {
+                    return Long.compare(o1.getValue().lastAccess, o2.getValue().lastAccess);
+                }
+            });
+            for (Map.Entry<FontCacheKey, CacheEntry> entry : entries) {
+                if (footprint.get() <= lowWaterMark) {
+                    break;
+                }
+                if (entry.getKey().equals(savedKey) || isPinned(entry.getValue().font)) {
+                    continue;
+                }
+                if (fontCache.remove(entry.getKey(), entry.getValue())) {
+                    footprint.addAndGet(-entry.getValue().footprint);
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static boolean isPinned(FontProgram font) {
+        return font instanceof Type1Font && ((Type1Font) font).isBuiltInFont();
+    }
+
+    private static final class CacheEntry {
+        final FontProgram font;
+        final long footprint;
+        volatile long lastAccess;
+
+        CacheEntry(FontProgram font, long footprint, long lastAccess) {
+            this.font = font;
+            this.footprint = footprint;
+            this.lastAccess = lastAccess;
+        }
+    }
 }
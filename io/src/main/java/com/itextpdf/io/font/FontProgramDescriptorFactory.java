@@ -60,7 +60,7 @@ public final class FontProgramDescriptorFactory {
                 if (fontNameLowerCase.endsWith(".woff")) {
                     fontProgram = WoffConverter.convert(FontProgramFactory.readFontBytesFromPath(baseName));
                 } else {
-                    fontProgram = Woff2Converter.convert(FontProgramFactory.readFontBytesFromPath(baseName));
+                    fontProgram = Woff2Converter.convertDescriptorTables(FontProgramFactory.readFontBytesFromPath(baseName));
                 }
                 fontDescriptor = fetchTrueTypeFontDescriptor(fontProgram);
             } else {
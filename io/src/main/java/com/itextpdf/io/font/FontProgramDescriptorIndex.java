@@ -0,0 +1,284 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.logs.IoLogMessageConstant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent index of {@link FontProgramDescriptor}s of font files.
+ *
+ * <p>
+ * Fetching a descriptor requires opening and parsing the font file, which makes scanning directories with thousands
+ * of fonts slow. The index stores the descriptors together with the size and the last modification time of
+ * the font files, so that they can be saved once and loaded on the next start instead of parsing the fonts again.
+ * Each entry is revalidated against the font file when it is requested, so only added or changed files are parsed.
+ *
+ * <p>
+ * Fonts which are not backed by a file, e.g. standard or predefined CJK fonts, are not indexed.
+ */
+public final class FontProgramDescriptorIndex {
+
+    private static final int MAGIC_NUMBER = 0x69464449;
+    private static final int VERSION = 1;
+
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty {@link FontProgramDescriptorIndex}.
+     */
+    public FontProgramDescriptorIndex() {
+        // Empty constructor
+    }
+
+    /**
+     * Loads the index previously stored with {@link #save(String)}.
+     *
+     * <p>
+     * If there is no index file at the specified path, an empty index is returned. If the index file cannot be read,
+     * e.g. it is corrupted or was written by an incompatible version, a warning is logged and an empty index is
+     * returned as well.
+     *
+     * @param indexPath path to the index file
+     * @return loaded index
+     */
+    public static FontProgramDescriptorIndex load(String indexPath) {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        if (!new File(indexPath).isFile()) {
+            return index;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != VERSION) {
+                logIndexCannotBeRead(indexPath);
+                return index;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String fontPath = in.readUTF();
+                long length = in.readLong();
+                long lastModified = in.readLong();
+                FontProgramDescriptor descriptor = in.readBoolean() ? readDescriptor(in) : null;
+                index.entries.put(fontPath, new IndexEntry(length, lastModified, descriptor));
+            }
+        } catch (Exception e) {
+            logIndexCannotBeRead(indexPath);
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    /**
+     * Stores the index to the specified file. Entries of the font files which do not exist anymore are dropped.
+     *
+     * <p>
+     * The index is written to a temporary file in the same directory, which then replaces the index file,
+     * so that an interrupted or concurrent saving doesn't leave a partially written index.
+     *
+     * @param indexPath path to the index file
+     * @throws IOException if the index file cannot be written
+     */
+    public void save(String indexPath) throws IOException {
+        Map<String, IndexEntry> existingEntries = new LinkedHashMap<>();
+        for (Map.Entry<String, IndexEntry> entry : entries.entrySet()) {
+            if (getIndexedFile(entry.getKey()) != null) {
+                existingEntries.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Path indexFile = Paths.get(indexPath).toAbsolutePath();
+        Path tempFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC_NUMBER);
+                out.writeInt(VERSION);
+                out.writeInt(existingEntries.size());
+                for (Map.Entry<String, IndexEntry> entry : existingEntries.entrySet()) {
+                    IndexEntry indexEntry = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(indexEntry.length);
+                    out.writeLong(indexEntry.lastModified);
+                    out.writeBoolean(indexEntry.descriptor != null);
+                    if (indexEntry.descriptor != null) {
+                        writeDescriptor(out, indexEntry.descriptor);
+                    }
+                }
+            }
+            try {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Gets the descriptor of the font, see {@link FontProgramDescriptorFactory#fetchDescriptor(String)}.
+     *
+     * <p>
+     * If the font file is indexed and was not changed since then, the stored descriptor is returned without
+     * opening the font file. Otherwise the descriptor is fetched from the font file and stored in the index.
+     * The fonts which cannot be parsed are stored as well, so that they are not parsed again.
+     *
+     * @param fontName path to the font file, see {@link FontProgramFactory#createFont(String)}
+     * @return the descriptor of the font or {@code null} if the font cannot be parsed
+     */
+    public FontProgramDescriptor fetchDescriptor(String fontName) {
+        File fontFile = fontName == null ? null : getIndexedFile(fontName);
+        if (fontFile == null) {
+            return FontProgramDescriptorFactory.fetchDescriptor(fontName);
+        }
+        long length = fontFile.length();
+        long lastModified = fontFile.lastModified();
+        IndexEntry entry = entries.get(fontName);
+        if (entry != null && entry.length == length && entry.lastModified == lastModified) {
+            return entry.descriptor;
+        }
+        FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontName);
+        entries.put(fontName, new IndexEntry(length, lastModified, descriptor));
+        return descriptor;
+    }
+
+    /**
+     * Gets the number of the indexed font files.
+     *
+     * @return number of the indexed font files
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static void logIndexCannotBeRead(String indexPath) {
+        Logger logger = LoggerFactory.getLogger(FontProgramDescriptorIndex.class);
+        logger.warn(MessageFormatUtil.format(IoLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ, indexPath));
+    }
+
+    private static File getIndexedFile(String fontName) {
+        File file = new File(fontName);
+        if (file.isFile()) {
+            return file;
+        }
+        // TrueType collections are referenced as "path.ttc,index".
+        int ttcSplit = fontName.toLowerCase().indexOf(".ttc,");
+        if (ttcSplit > 0) {
+            file = new File(fontName.substring(0, ttcSplit + 4));
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static void writeDescriptor(DataOutputStream out, FontProgramDescriptor descriptor) throws IOException {
+        out.writeUTF(descriptor.getFontName());
+        writeNullableString(out, descriptor.getFullNameLowerCase());
+        writeNullableString(out, descriptor.getFamilyNameLowerCase());
+        writeNullableString(out, descriptor.getFamilyName2LowerCase());
+        writeNullableString(out, descriptor.getStyle());
+        out.writeInt(descriptor.getMacStyle());
+        out.writeInt(descriptor.getFontWeight());
+        out.writeFloat(descriptor.getItalicAngle());
+        out.writeBoolean(descriptor.isMonospace());
+        writeStringSet(out, descriptor.getFullNameAllLangs());
+        writeStringSet(out, descriptor.getFullNamesEnglishOpenType());
+        writeNullableString(out, descriptor.getFamilyNameEnglishOpenType());
+    }
+
+    private static FontProgramDescriptor readDescriptor(DataInputStream in) throws IOException {
+        String fontName = in.readUTF();
+        String fullNameLowerCase = readNullableString(in);
+        String familyNameLowerCase = readNullableString(in);
+        String familyName2LowerCase = readNullableString(in);
+        String style = readNullableString(in);
+        int macStyle = in.readInt();
+        int weight = in.readInt();
+        float italicAngle = in.readFloat();
+        boolean isMonospace = in.readBoolean();
+        Set<String> fullNamesAllLangs = readStringSet(in);
+        Set<String> fullNamesEnglishOpenType = readStringSet(in);
+        String familyNameEnglishOpenType = readNullableString(in);
+        return new FontProgramDescriptor(fontName, fullNameLowerCase, familyNameLowerCase, familyName2LowerCase,
+                style, macStyle, weight, italicAngle, isMonospace, fullNamesAllLangs, fullNamesEnglishOpenType,
+                familyNameEnglishOpenType);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStringSet(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Set<String> readStringSet(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    private static final class IndexEntry {
+        private final long length;
+        private final long lastModified;
+        private final FontProgramDescriptor descriptor;
+
+        IndexEntry(long length, long lastModified, FontProgramDescriptor descriptor) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+}
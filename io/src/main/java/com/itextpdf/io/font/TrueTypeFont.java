@@ -57,6 +57,11 @@ public class TrueTypeFont extends FontProgram {
     private GlyphPositioningTableReader gposTable;
     private OpenTypeGdefTableReader gdefTable;
 
+    // GDEF, GSUB and GPOS tables are only needed for advanced typography, so they are read on the first request.
+    // The flag is volatile so that only the first request has to lock.
+    private volatile boolean openTypeLayoutTablesRead;
+    private final Object openTypeLayoutTablesLock = new Object();
+
     /**
      * The map containing the kerning information. It represents the content of
      * table 'kern'. The key is an <CODE>Integer</CODE> where the top 16 bits
@@ -176,14 +181,17 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        ensureOpenTypeLayoutTablesRead();
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        ensureOpenTypeLayoutTablesRead();
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        ensureOpenTypeLayoutTablesRead();
         return gdefTable;
     }
 
@@ -350,13 +358,32 @@ public class TrueTypeFont extends FontProgram {
             avgWidth /= codeToGlyph.size();
         }
 
-        readGdefTable();
-        readGsubTable();
-        readGposTable();
-
         isVertical = false;
     }
 
+    private void ensureOpenTypeLayoutTablesRead() {
+        if (openTypeLayoutTablesRead) {
+            return;
+        }
+        synchronized (openTypeLayoutTablesLock) {
+            if (openTypeLayoutTablesRead) {
+                return;
+            }
+            if (fontParser == null) {
+                openTypeLayoutTablesRead = true;
+                return;
+            }
+            try {
+                readGdefTable();
+                readGsubTable();
+                readGposTable();
+            } catch (java.io.IOException e) {
+                throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+            }
+            openTypeLayoutTablesRead = true;
+        }
+    }
+
     /**
      * Gets the code pages supported by the font.
      *
@@ -389,6 +416,8 @@ public class TrueTypeFont extends FontProgram {
 
     public void close() throws java.io.IOException {
         if (fontParser != null) {
+            // The tables cannot be read once the font file is closed.
+            ensureOpenTypeLayoutTablesRead();
             fontParser.close();
         }
         fontParser = null;
@@ -26,11 +26,9 @@ import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -58,6 +56,7 @@ class TrueTypeFontSubset {
     private static final int MORE_COMPONENTS = 32;
     private static final int WE_HAVE_AN_X_AND_Y_SCALE = 64;
     private static final int WE_HAVE_A_TWO_BY_TWO = 128;
+    private static final int[] NO_COMPONENTS = new int[0];
 
 
     /**
@@ -77,12 +76,10 @@ class TrueTypeFontSubset {
     private String fileName;
     private  boolean locaShortTable;
     private  int[] locaTable;
-    private  Set<Integer> glyphsUsed;
-    private  List<Integer> glyphsInList;
+    // Glyph closure is computed on a bit set, so that used glyphs are also iterated in ascending order.
+    private  BitSet glyphsUsed;
     private  int tableGlyphOffset;
     private  int[] newLocaTable;
-    private  byte[] newLocaTableOut;
-    private  byte[] newGlyfTable;
     private  int glyfTableRealSize;
     private  int locaTableRealSize;
     private  byte[] outFont;
@@ -100,7 +97,10 @@ class TrueTypeFontSubset {
     TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean subset) {
         this.fileName = fileName;
         this.rf = rf;
-        this.glyphsUsed = new HashSet<>(glyphsUsed);
+        this.glyphsUsed = new BitSet();
+        for (int glyph : glyphsUsed) {
+            this.glyphsUsed.set(glyph);
+        }
         this.directoryOffset = directoryOffset;
         // subset = false is possible with directoryOffset > 0, i.e. ttc font without subset.
         if (subset) {
@@ -108,7 +108,6 @@ class TrueTypeFontSubset {
         } else {
             tableNames = TABLE_NAMES;
         }
-        glyphsInList = new ArrayList<>(glyphsUsed);
     }
 
     /**
@@ -122,8 +121,7 @@ class TrueTypeFontSubset {
             createTableDirectory();
             readLoca();
             flatGlyphs();
-            createNewGlyphTables();
-            locaToBytes();
+            createNewLocaTable();
             assembleFont();
             return outFont;
         } finally {
@@ -134,6 +132,10 @@ class TrueTypeFontSubset {
         }
     }
 
+    /**
+     * Writes the whole subset into a single buffer. The new glyf and loca tables are written in place,
+     * their checksums are filled in the table directory afterwards.
+     */
     private void assembleFont() throws java.io.IOException {
         int[] tableLocation;
         int fullFontSize = 0;
@@ -149,8 +151,8 @@ class TrueTypeFontSubset {
             tablesUsed++;
             fullFontSize += tableLocation[TABLE_LENGTH] + 3 & ~3;
         }
-        fullFontSize += newLocaTableOut.length;
-        fullFontSize += newGlyfTable.length;
+        fullFontSize += locaTableRealSize + 3 & ~3;
+        fullFontSize += glyfTableRealSize + 3 & ~3;
         int reference = 16 * tablesUsed + 12;
         fullFontSize += reference;
         outFont = new byte[fullFontSize];
@@ -161,6 +163,8 @@ class TrueTypeFontSubset {
         writeFontShort((1 << selector) * 16);
         writeFontShort(selector);
         writeFontShort((tablesUsed - (1 << selector)) * 16);
+        int glyfChecksumPtr = -1;
+        int locaChecksumPtr = -1;
         for (String name : tableNames) {
             int len;
             tableLocation = tableDirectory.get(name);
@@ -170,11 +174,13 @@ class TrueTypeFontSubset {
             writeFontString(name);
             switch (name) {
                 case "glyf":
-                    writeFontInt(calculateChecksum(newGlyfTable));
+                    glyfChecksumPtr = fontPtr;
+                    writeFontInt(0);
                     len = glyfTableRealSize;
                     break;
                 case "loca":
-                    writeFontInt(calculateChecksum(newLocaTableOut));
+                    locaChecksumPtr = fontPtr;
+                    writeFontInt(0);
                     len = locaTableRealSize;
                     break;
                 default:
@@ -191,16 +197,17 @@ class TrueTypeFontSubset {
             if (tableLocation == null) {
                 continue;
             }
+            int tableStart = fontPtr;
             switch (name) {
                 case "glyf":
-                    System.arraycopy(newGlyfTable, 0, outFont, fontPtr, newGlyfTable.length);
-                    fontPtr += newGlyfTable.length;
-                    newGlyfTable = null;
+                    writeGlyfTable();
+                    fontPtr = tableStart + (glyfTableRealSize + 3 & ~3);
+                    patchFontInt(glyfChecksumPtr, calculateChecksum(outFont, tableStart, fontPtr));
                     break;
                 case "loca":
-                    System.arraycopy(newLocaTableOut, 0, outFont, fontPtr, newLocaTableOut.length);
-                    fontPtr += newLocaTableOut.length;
-                    newLocaTableOut = null;
+                    writeLocaTable();
+                    fontPtr = tableStart + (locaTableRealSize + 3 & ~3);
+                    patchFontInt(locaChecksumPtr, calculateChecksum(outFont, tableStart, fontPtr));
                     break;
                 default:
                     rf.seek(tableLocation[TABLE_OFFSET]);
@@ -242,62 +249,64 @@ class TrueTypeFontSubset {
             throw new IOException(IoExceptionMessageConstant.TABLE_DOES_NOT_EXISTS_IN).setMessageParams("loca", fileName);
         }
         rf.seek(tableLocation[TABLE_OFFSET]);
+        // Read the table at once instead of entry by entry.
+        int entrySize = locaShortTable ? 2 : 4;
+        int entries = tableLocation[TABLE_LENGTH] / entrySize;
+        byte[] loca = new byte[entries * entrySize];
+        rf.readFully(loca);
+        locaTable = new int[entries];
         if (locaShortTable) {
-            int entries = tableLocation[TABLE_LENGTH] / 2;
-            locaTable = new int[entries];
-            for (int k = 0; k < entries; ++k) {
-                locaTable[k] = rf.readUnsignedShort() * 2;
+            for (int k = 0, ptr = 0; k < entries; ++k, ptr += 2) {
+                locaTable[k] = ((loca[ptr] & 0xff) << 8 | loca[ptr + 1] & 0xff) * 2;
             }
         } else {
-            int entries = tableLocation[TABLE_LENGTH] / 4;
-            locaTable = new int[entries];
-            for (int k = 0; k < entries; ++k) {
-                locaTable[k] = rf.readInt();
+            for (int k = 0, ptr = 0; k < entries; ++k, ptr += 4) {
+                locaTable[k] = (loca[ptr] & 0xff) << 24 | (loca[ptr + 1] & 0xff) << 16
+                        | (loca[ptr + 2] & 0xff) << 8 | loca[ptr + 3] & 0xff;
             }
         }
     }
 
-    private void createNewGlyphTables() throws java.io.IOException {
+    private void createNewLocaTable() {
         newLocaTable = new int[locaTable.length];
-        int[] activeGlyphs = new int[glyphsInList.size()];
-        for (int k = 0; k < activeGlyphs.length; ++k) {
-            activeGlyphs[k] = (int) glyphsInList.get(k);
-        }
-        Arrays.sort(activeGlyphs);
-        int glyfSize = 0;
-        for (int glyph : activeGlyphs) {
-            glyfSize += locaTable[glyph + 1] - locaTable[glyph];
-        }
-        glyfTableRealSize = glyfSize;
-        glyfSize = glyfSize + 3 & ~3;
-        newGlyfTable = new byte[glyfSize];
         int glyfPtr = 0;
-        int listGlyf = 0;
+        int nextGlyph = glyphsUsed.nextSetBit(0);
         for (int k = 0; k < newLocaTable.length; ++k) {
             newLocaTable[k] = glyfPtr;
-            if (listGlyf < activeGlyphs.length && activeGlyphs[listGlyf] == k) {
-                ++listGlyf;
-                newLocaTable[k] = glyfPtr;
-                int start = locaTable[k];
-                int len = locaTable[k + 1] - start;
-                if (len > 0) {
-                    rf.seek(tableGlyphOffset + start);
-                    rf.readFully(newGlyfTable, glyfPtr, len);
-                    glyfPtr += len;
-                }
+            if (nextGlyph == k) {
+                glyfPtr += locaTable[k + 1] - locaTable[k];
+                nextGlyph = glyphsUsed.nextSetBit(k + 1);
             }
         }
-    }
-
-    private void locaToBytes() {
+        glyfTableRealSize = glyfPtr;
         if (locaShortTable) {
             locaTableRealSize = newLocaTable.length * 2;
         } else {
             locaTableRealSize = newLocaTable.length * 4;
         }
-        newLocaTableOut = new byte[locaTableRealSize + 3 & ~3];
-        outFont = newLocaTableOut;
-        fontPtr = 0;
+    }
+
+    private void writeGlyfTable() throws java.io.IOException {
+        int glyph = glyphsUsed.nextSetBit(0);
+        while (glyph >= 0) {
+            // Glyphs which follow each other in the font are copied with a single read.
+            int start = locaTable[glyph];
+            int end = locaTable[glyph + 1];
+            glyph = glyphsUsed.nextSetBit(glyph + 1);
+            while (glyph >= 0 && locaTable[glyph] == end) {
+                end = locaTable[glyph + 1];
+                glyph = glyphsUsed.nextSetBit(glyph + 1);
+            }
+            int len = end - start;
+            if (len > 0) {
+                rf.seek(tableGlyphOffset + start);
+                rf.readFully(outFont, fontPtr, len);
+                fontPtr += len;
+            }
+        }
+    }
+
+    private void writeLocaTable() {
         for (int location : newLocaTable) {
             if (locaShortTable)
                 writeFontShort(location / 2);
@@ -310,41 +319,52 @@ class TrueTypeFontSubset {
         int[] tableLocation = tableDirectory.get("glyf");
         if (tableLocation == null)
             throw new IOException(IoExceptionMessageConstant.TABLE_DOES_NOT_EXISTS_IN).setMessageParams("glyf", fileName);
-        int glyph0 = 0;
-        if (!glyphsUsed.contains(glyph0)) {
-            glyphsUsed.add(glyph0);
-            glyphsInList.add(glyph0);
-        }
+        glyphsUsed.set(0);
         tableGlyphOffset = tableLocation[TABLE_OFFSET];
-        // Do not replace with foreach. ConcurrentModificationException will arise.
-        // noinspection ForLoopReplaceableByForEach
-        for (int i = 0; i < glyphsInList.size(); i++) {
-            checkGlyphComposite((int) glyphsInList.get(i));
+        int[] pendingGlyphs = new int[glyphsUsed.cardinality()];
+        int pendingCount = 0;
+        for (int glyph = glyphsUsed.nextSetBit(0); glyph >= 0; glyph = glyphsUsed.nextSetBit(glyph + 1)) {
+            pendingGlyphs[pendingCount++] = glyph;
+        }
+        while (pendingCount > 0) {
+            int glyph = pendingGlyphs[--pendingCount];
+            int[] components = checkGlyphComposite(glyph);
+            for (int component : components) {
+                if (!glyphsUsed.get(component)) {
+                    glyphsUsed.set(component);
+                    if (pendingCount == pendingGlyphs.length) {
+                        pendingGlyphs = Arrays.copyOf(pendingGlyphs, pendingGlyphs.length * 2 + 1);
+                    }
+                    pendingGlyphs[pendingCount++] = component;
+                }
+            }
         }
     }
 
-    private void checkGlyphComposite(int glyph) throws java.io.IOException {
+    private int[] checkGlyphComposite(int glyph) throws java.io.IOException {
         int start = locaTable[glyph];
 
         // no contour
         if (start == locaTable[glyph + 1]) {
-            return;
+            return NO_COMPONENTS;
         }
         rf.seek(tableGlyphOffset + start);
         int numContours = rf.readShort();
         if (numContours >= 0) {
-            return;
+            return NO_COMPONENTS;
         }
         rf.skipBytes(8);
+        int[] components = new int[4];
+        int componentsCount = 0;
         for (; ; ) {
             int flags = rf.readUnsignedShort();
             int cGlyph = rf.readUnsignedShort();
-            if (!glyphsUsed.contains(cGlyph)) {
-                glyphsUsed.add(cGlyph);
-                glyphsInList.add(cGlyph);
+            if (componentsCount == components.length) {
+                components = Arrays.copyOf(components, components.length * 2);
             }
+            components[componentsCount++] = cGlyph;
             if ((flags & MORE_COMPONENTS) == 0) {
-                return;
+                return Arrays.copyOf(components, componentsCount);
             }
             int skip;
             if ((flags & ARG_1_AND_2_ARE_WORDS) != 0) {
@@ -399,13 +419,20 @@ class TrueTypeFontSubset {
         fontPtr += b.length;
     }
 
-    private int calculateChecksum(byte[] b) {
-        int len = b.length / 4;
+    private void patchFontInt(int ptr, int n) {
+        outFont[ptr] = (byte) (n >> 24);
+        outFont[ptr + 1] = (byte) (n >> 16);
+        outFont[ptr + 2] = (byte) (n >> 8);
+        outFont[ptr + 3] = (byte) n;
+    }
+
+    private static int calculateChecksum(byte[] b, int start, int end) {
+        int len = (end - start) / 4;
         int v0 = 0;
         int v1 = 0;
         int v2 = 0;
         int v3 = 0;
-        int ptr = 0;
+        int ptr = start;
         for (int k = 0; k < len; ++k) {
             v3 += b[ptr++] & 0xff;
             v2 += b[ptr++] & 0xff;
@@ -22,9 +22,11 @@
  */
 package com.itextpdf.io.font.cmap;
 
+import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.util.IntHashtable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,12 +45,63 @@ public class CMapCidToCodepoint extends AbstractCMap {
         }
     }
 
+    /**
+     * Gets the code of the given CID. Predefined CMaps are shared by all the fonts which use them,
+     * so a copy of the code is returned.
+     *
+     * @param cid the CID to look up
+     *
+     * @return the bytes of the code, or empty array if the CID is not mapped
+     */
     public byte[] lookup(int cid) {
         byte[] ser = map.get(cid);
         if (ser == null) {
             return EMPTY;
         } else {
-            return ser;
+            return ser.clone();
+        }
+    }
+
+    /**
+     * Gets the length of the code of the given CID without copying the code.
+     *
+     * @param cid the CID to look up
+     *
+     * @return the number of bytes of the code, or 0 if the CID is not mapped
+     */
+    public int getCodeLength(int cid) {
+        byte[] ser = map.get(cid);
+        return ser == null ? 0 : ser.length;
+    }
+
+    /**
+     * Writes the code of the given CID into the array without copying the code first.
+     *
+     * @param cid the CID to look up
+     * @param array the array to write the code into
+     * @param offset the position in the array to write the code at
+     *
+     * @return the position in the array right after the written code
+     */
+    public int fillCode(int cid, byte[] array, int offset) {
+        byte[] ser = map.get(cid);
+        if (ser == null) {
+            return offset;
+        }
+        System.arraycopy(ser, 0, array, offset, ser.length);
+        return offset + ser.length;
+    }
+
+    /**
+     * Appends the code of the given CID to the buffer without copying the code first.
+     *
+     * @param cid the CID to look up
+     * @param buffer the buffer to append the code to
+     */
+    public void appendCode(int cid, ByteBuffer buffer) {
+        byte[] ser = map.get(cid);
+        if (ser != null) {
+            buffer.append(ser);
         }
     }
 
@@ -69,11 +122,13 @@ public class CMapCidToCodepoint extends AbstractCMap {
     /**
      * Returns a list containing sequential pairs of code space beginning and endings:
      * (begincodespacerange1, endcodespacerange1, begincodespacerange2, endcodespacerange1, ...)
+     * <p>
+     * Predefined CMaps are shared by all the fonts which use them, so the returned arrays must not be modified.
      *
-     * @return list of {@code byte[]} that contain code space ranges
+     * @return unmodifiable list of {@code byte[]} that contain code space ranges
      */
     public List<byte[]> getCodeSpaceRanges() {
-        return codeSpaceRanges;
+        return Collections.unmodifiableList(codeSpaceRanges);
     }
 
     @Override
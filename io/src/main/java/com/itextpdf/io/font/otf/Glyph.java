@@ -167,6 +167,27 @@ public class Glyph {
         this(glyph.code, glyph.width, unicode, getChars(unicode), glyph.isMark());
     }
 
+    /**
+     * Gets a glyph equal to this one with the passed placement and advance offsets and index delta to base glyph.
+     * Glyphs are shared between glyph lines, so a copy is created unless this glyph already has exactly these
+     * values, in which case this glyph itself is returned.
+     *
+     * @param xPlacement x - placement offset
+     * @param yPlacement y - placement offset
+     * @param xAdvance x - advance offset
+     * @param yAdvance y - advance offset
+     * @param anchorDelta Index delta to base glyph.
+     * @return this glyph if it already has the passed offsets, otherwise a copy with the passed offsets
+     */
+    Glyph withOffsets(int xPlacement, int yPlacement, int xAdvance, int yAdvance, int anchorDelta) {
+        if (this.xPlacement == (short) xPlacement && this.yPlacement == (short) yPlacement
+                && this.xAdvance == (short) xAdvance && this.yAdvance == (short) yAdvance
+                && this.anchorDelta == (short) anchorDelta) {
+            return this;
+        }
+        return new Glyph(this, xPlacement, yPlacement, xAdvance, yAdvance, anchorDelta);
+    }
+
     public int getCode() {
         return code;
     }
@@ -54,10 +54,10 @@ public class GposLookupType1 extends OpenTableLookup {
         boolean positionApplied = false;
         GposValueRecord valueRecord = valueRecordMap.get(glyphCode);
         if (valueRecord != null) {
-            Glyph newGlyph = new Glyph(line.get(line.idx));
-            newGlyph.setXAdvance((short)(newGlyph.getXAdvance() + valueRecord.XAdvance));
-            newGlyph.setYAdvance((short)(newGlyph.getYAdvance() + valueRecord.YAdvance));
-            line.set(line.idx, newGlyph);
+            Glyph glyph = line.get(line.idx);
+            line.set(line.idx, glyph.withOffsets(glyph.getXPlacement(), glyph.getYPlacement(),
+                    glyph.getXAdvance() + valueRecord.XAdvance, glyph.getYAdvance() + valueRecord.YAdvance,
+                    glyph.getAnchorDelta()));
             positionApplied = true;
         }
         line.idx++;
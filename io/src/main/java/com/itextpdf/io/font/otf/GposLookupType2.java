@@ -102,8 +102,8 @@ public class GposLookupType2 extends OpenTableLookup {
                     PairValueFormat pv = m.get(gi.glyph.getCode());
                     if (pv != null) {
                         Glyph g2 = gi.glyph;
-                        line.set(line.idx, new Glyph(g1, 0, 0, pv.first.XAdvance, pv.first.YAdvance, 0));
-                        line.set(gi.idx, new Glyph(g2, 0, 0, pv.second.XAdvance, pv.second.YAdvance, 0));
+                        line.set(line.idx, g1.withOffsets(0, 0, pv.first.XAdvance, pv.first.YAdvance, 0));
+                        line.set(gi.idx, g2.withOffsets(0, 0, pv.second.XAdvance, pv.second.YAdvance, 0));
                         line.idx = gi.idx;
                         changed = true;
                     }
@@ -172,8 +172,8 @@ public class GposLookupType2 extends OpenTableLookup {
             if (c2 >= pvs.length)
                 return false;
             PairValueFormat pv = pvs[c2];
-            line.set(line.idx, new Glyph(g1, 0, 0, pv.first.XAdvance, pv.first.YAdvance, 0));
-            line.set(gi.idx, new Glyph(g2, 0, 0, pv.second.XAdvance, pv.second.YAdvance, 0));
+            line.set(line.idx, g1.withOffsets(0, 0, pv.first.XAdvance, pv.first.YAdvance, 0));
+            line.set(gi.idx, g2.withOffsets(0, 0, pv.second.XAdvance, pv.second.YAdvance, 0));
             line.idx = gi.idx;
             return true;
         }
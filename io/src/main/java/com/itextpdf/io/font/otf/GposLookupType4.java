@@ -92,7 +92,7 @@ public class GposLookupType4 extends OpenTableLookup {
                 xPlacement -= markAnchor.XCoordinate;
                 yPlacement -= markAnchor.YCoordinate;
             }
-            line.set(line.idx, new Glyph(line.get(line.idx),
+            line.set(line.idx, line.get(line.idx).withOffsets(
                     xPlacement, yPlacement,
                     0, 0, gi.idx - line.idx));
             changed = true;
@@ -96,7 +96,7 @@ public class GposLookupType5 extends OpenTableLookup {
                 if (componentAnchors.get(component)[markClass] != null) {
                     GposAnchor baseAnchor = componentAnchors.get(component)[markClass];
                     GposAnchor markAnchor = omr.anchor;
-                    line.set(line.idx, new Glyph(line.get(line.idx),
+                    line.set(line.idx, line.get(line.idx).withOffsets(
                             baseAnchor.XCoordinate - markAnchor.XCoordinate,
                             baseAnchor.YCoordinate - markAnchor.YCoordinate,
                             0, 0, ligatureGlyphIndexer.idx - line.idx));
@@ -91,7 +91,7 @@ public class GposLookupType6 extends OpenTableLookup {
             int markClass = omr.markClass;
             GposAnchor baseAnchor = gpas[markClass];
             GposAnchor markAnchor = omr.anchor;
-            line.set(line.idx, new Glyph(line.get(line.idx),
+            line.set(line.idx, line.get(line.idx).withOffsets(
                     -markAnchor.XCoordinate + baseAnchor.XCoordinate,
                     -markAnchor.YCoordinate + baseAnchor.YCoordinate,
                     0, 0, gi.idx - line.idx));
@@ -37,33 +37,49 @@ public class OtfClass {
     public static final int GLYPH_LIGATURE = 2;
     public static final int GLYPH_MARK = 3;
 
-    //key is glyph, value is class inside all 2
-    private IntHashtable mapClass = new IntHashtable();
+    /**
+     * Class definitions spanning at most this many glyphs per defined glyph are stored in a dense array.
+     */
+    private static final int MAX_DENSE_SPAN_PER_GLYPH = 8;
+
+    //key is glyph, value is class inside all 2. Used only if the class definition is too sparse for denseClasses
+    private IntHashtable mapClass;
+
+    // class + 1 of glyph (firstGlyph + index), 0 if the class is not defined for the glyph
+    private char[] denseClasses;
+    private int firstGlyph;
 
     private OtfClass(RandomAccessFileOrArray rf, int classLocation) throws java.io.IOException {
         rf.seek(classLocation);
         int classFormat = rf.readUnsignedShort();
+        int[] rangeStarts;
+        int[] rangeEnds;
+        int[] rangeClasses;
         if (classFormat == 1) {
             int startGlyph = rf.readUnsignedShort();
             int glyphCount = rf.readUnsignedShort();
-            int endGlyph = startGlyph + glyphCount;
-            for (int k = startGlyph; k < endGlyph; ++k) {
-                int cl = rf.readUnsignedShort();
-                mapClass.put(k, cl);
+            rangeStarts = new int[glyphCount];
+            rangeEnds = new int[glyphCount];
+            rangeClasses = new int[glyphCount];
+            for (int k = 0; k < glyphCount; ++k) {
+                rangeStarts[k] = startGlyph + k;
+                rangeEnds[k] = startGlyph + k;
+                rangeClasses[k] = rf.readUnsignedShort();
             }
         } else if (classFormat == 2) {
             int classRangeCount = rf.readUnsignedShort();
+            rangeStarts = new int[classRangeCount];
+            rangeEnds = new int[classRangeCount];
+            rangeClasses = new int[classRangeCount];
             for (int k = 0; k < classRangeCount; ++k) {
-                int glyphStart = rf.readUnsignedShort();
-                int glyphEnd = rf.readUnsignedShort();
-                int cl = rf.readUnsignedShort();
-                for (; glyphStart <= glyphEnd; ++glyphStart) {
-                    mapClass.put(glyphStart, cl);
-                }
+                rangeStarts[k] = rf.readUnsignedShort();
+                rangeEnds[k] = rf.readUnsignedShort();
+                rangeClasses[k] = rf.readUnsignedShort();
             }
         } else {
             throw new java.io.IOException("Invalid class format " + classFormat);
         }
+        fillClasses(rangeStarts, rangeEnds, rangeClasses);
     }
 
     public static OtfClass create(RandomAccessFileOrArray rf, int classLocation) {
@@ -79,6 +95,11 @@ public class OtfClass {
     }
 
     public int getOtfClass(int glyph) {
+        if (denseClasses != null) {
+            int index = glyph - firstGlyph;
+            return index >= 0 && index < denseClasses.length && denseClasses[index] != 0
+                    ? denseClasses[index] - 1 : 0;
+        }
         return mapClass.get(glyph);
     }
 
@@ -87,18 +108,57 @@ public class OtfClass {
     }
 
     public boolean hasClass(int glyph) {
+        if (denseClasses != null) {
+            int index = glyph - firstGlyph;
+            return index >= 0 && index < denseClasses.length && denseClasses[index] != 0;
+        }
         return mapClass.containsKey(glyph);
     }
 
     public int getOtfClass(int glyph, boolean strict) {
         if (strict) {
-            if (mapClass.containsKey(glyph)) {
-                return mapClass.get(glyph);
+            if (hasClass(glyph)) {
+                return getOtfClass(glyph);
             } else {
                 return -1;
             }
         } else {
-            return mapClass.get(glyph);
+            return getOtfClass(glyph);
+        }
+    }
+
+    private void fillClasses(int[] rangeStarts, int[] rangeEnds, int[] rangeClasses) {
+        int minGlyph = Integer.MAX_VALUE;
+        int maxGlyph = Integer.MIN_VALUE;
+        long glyphCount = 0;
+        boolean fitsDense = true;
+        for (int k = 0; k < rangeStarts.length; ++k) {
+            if (rangeStarts[k] > rangeEnds[k]) {
+                continue;
+            }
+            minGlyph = Math.min(minGlyph, rangeStarts[k]);
+            maxGlyph = Math.max(maxGlyph, rangeEnds[k]);
+            glyphCount += rangeEnds[k] - rangeStarts[k] + 1;
+            // class + 1 has to fit into a char
+            fitsDense = fitsDense && rangeClasses[k] < Character.MAX_VALUE;
+        }
+        if (glyphCount == 0) {
+            mapClass = new IntHashtable();
+        } else if (fitsDense && (long) maxGlyph - minGlyph + 1 <= glyphCount * MAX_DENSE_SPAN_PER_GLYPH) {
+            firstGlyph = minGlyph;
+            denseClasses = new char[maxGlyph - minGlyph + 1];
+            for (int k = 0; k < rangeStarts.length; ++k) {
+                for (int glyph = rangeStarts[k]; glyph <= rangeEnds[k]; ++glyph) {
+                    denseClasses[glyph - firstGlyph] = (char) (rangeClasses[k] + 1);
+                }
+            }
+        } else {
+            mapClass = new IntHashtable();
+            for (int k = 0; k < rangeStarts.length; ++k) {
+                for (int glyph = rangeStarts[k]; glyph <= rangeEnds[k]; ++glyph) {
+                    mapClass.put(glyph, rangeClasses[k]);
+                }
+            }
         }
     }
 }
@@ -22,8 +22,21 @@
  */
 package com.itextpdf.io.font.woff2;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class Woff2Converter {
 
+    private static final Object lock = new Object();
+
+    // Access ordered, so that the least recently used fonts come first.
+    private static final Map<Woff2Key, byte[]> decodedFonts = new LinkedHashMap<>(16, 0.75f, true);
+    private static volatile long decodedFontsCacheSize = 0;
+    private static long decodedFontsSize;
+    private static long decodedFontsHitCount;
+
     public static boolean isWoff2Font(byte[] woff2Bytes) {
         if (woff2Bytes.length < 4) {
             return false;
@@ -36,10 +49,159 @@ public class Woff2Converter {
         }
     }
 
+    /**
+     * Converts WOFF2 font to the TrueType or OpenType font program.
+     * <p>
+     * If the cache of the decoded fonts is enabled, the decoded font programs are kept in a cache keyed by
+     * the content of the WOFF2 font, so that converting the same font again, e.g. for another document or for
+     * a font program which is not kept in {@link com.itextpdf.io.font.FontCache}, skips decoding.
+     * The cache is disabled by default, see {@link #setDecodedFontsCacheSize(long)}.
+     *
+     * @param woff2Bytes the WOFF2 font program
+     * @return the decoded font program
+     */
     public static byte[] convert(byte[] woff2Bytes) {
+        if (decodedFontsCacheSize <= 0) {
+            return decode(woff2Bytes, true);
+        }
+        Woff2Key key = new Woff2Key(woff2Bytes);
+        byte[] decoded = getDecodedFont(key);
+        if (decoded != null) {
+            return decoded;
+        }
+        decoded = decode(woff2Bytes, true);
+        synchronized (lock) {
+            long size = (long) woff2Bytes.length + decoded.length;
+            if (size <= decodedFontsCacheSize && !decodedFonts.containsKey(key)) {
+                decodedFonts.put(new Woff2Key(Arrays.copyOf(woff2Bytes, woff2Bytes.length)),
+                        Arrays.copyOf(decoded, decoded.length));
+                decodedFontsSize += size;
+                evictDecodedFonts();
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Converts WOFF2 font to the TrueType or OpenType font program which is only good for reading the font
+     * descriptor, i.e. the 'name', 'head', 'OS/2' and 'post' tables.
+     * <p>
+     * Transformed 'glyf', 'loca' and 'hmtx' tables, which take most of the decoding time, are not reconstructed
+     * and are left empty. If the complete font program is already in the cache of the decoded fonts, it is returned
+     * instead. The result of this method is never cached.
+     *
+     * @param woff2Bytes the WOFF2 font program
+     * @return the decoded font program without glyphs
+     */
+    public static byte[] convertDescriptorTables(byte[] woff2Bytes) {
+        if (decodedFontsCacheSize > 0) {
+            byte[] decoded = getDecodedFont(new Woff2Key(woff2Bytes));
+            if (decoded != null) {
+                return decoded;
+            }
+        }
+        return decode(woff2Bytes, false);
+    }
+
+    /**
+     * Sets the limit of the total size of the fonts kept in the cache of the decoded WOFF2 fonts, in bytes.
+     * Both WOFF2 and decoded programs are counted. Once the limit is exceeded, the least recently used fonts
+     * are evicted. The default limit is 0, i.e. the cache is disabled.
+     *
+     * @param cacheSize the limit of the cache size in bytes
+     */
+    public static void setDecodedFontsCacheSize(long cacheSize) {
+        synchronized (lock) {
+            decodedFontsCacheSize = cacheSize;
+            evictDecodedFonts();
+        }
+    }
+
+    /**
+     * Gets the total size of the fonts currently kept in the cache of the decoded WOFF2 fonts, in bytes.
+     *
+     * @return the size of the cached WOFF2 and decoded font programs
+     */
+    public static long getDecodedFontsSize() {
+        synchronized (lock) {
+            return decodedFontsSize;
+        }
+    }
+
+    /**
+     * Gets the number of conversions which were served from the cache of the decoded WOFF2 fonts.
+     *
+     * @return the number of cache hits
+     */
+    public static long getDecodedFontsHitCount() {
+        synchronized (lock) {
+            return decodedFontsHitCount;
+        }
+    }
+
+    /**
+     * Removes all the fonts from the cache of the decoded WOFF2 fonts and resets the hit count.
+     */
+    public static void clearDecodedFonts() {
+        synchronized (lock) {
+            decodedFonts.clear();
+            decodedFontsSize = 0;
+            decodedFontsHitCount = 0;
+        }
+    }
+
+    private static byte[] decode(byte[] woff2Bytes, boolean reconstructGlyphs) {
         byte[] inner_byte_buffer = new byte[Woff2Dec.computeWoff2FinalSize(woff2Bytes, woff2Bytes.length)];
         Woff2Out out = new Woff2MemoryOut(inner_byte_buffer, inner_byte_buffer.length);
-        Woff2Dec.convertWoff2ToTtf(woff2Bytes, woff2Bytes.length, out);
+        Woff2Dec.convertWoff2ToTtf(woff2Bytes, woff2Bytes.length, out, reconstructGlyphs);
         return inner_byte_buffer;
     }
+
+    private static byte[] getDecodedFont(Woff2Key key) {
+        synchronized (lock) {
+            byte[] decoded = decodedFonts.get(key);
+            if (decoded == null) {
+                return null;
+            }
+            ++decodedFontsHitCount;
+            return Arrays.copyOf(decoded, decoded.length);
+        }
+    }
+
+    // Shall be called under the lock.
+    private static void evictDecodedFonts() {
+        Iterator<Map.Entry<Woff2Key, byte[]>> iterator = decodedFonts.entrySet().iterator();
+        while (decodedFontsSize > decodedFontsCacheSize && iterator.hasNext()) {
+            Map.Entry<Woff2Key, byte[]> entry = iterator.next();
+            decodedFontsSize -= (long) entry.getKey().woff2Bytes.length + entry.getValue().length;
+            iterator.remove();
+        }
+    }
+
+    private static final class Woff2Key {
+        private final byte[] woff2Bytes;
+        private final int hash;
+
+        Woff2Key(byte[] woff2Bytes) {
+            this.woff2Bytes = woff2Bytes;
+            this.hash = Arrays.hashCode(woff2Bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Woff2Key that = (Woff2Key) o;
+            return hash == that.hash && Arrays.equals(woff2Bytes, that.woff2Bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -16,11 +16,11 @@
 package com.itextpdf.io.font.woff2;
 
 import com.itextpdf.commons.utils.MessageFormatUtil;
-import com.itextpdf.io.codec.brotli.dec.BrotliInputStream;
+import com.itextpdf.io.codec.brotli.dec.BrotliDecoder;
 import com.itextpdf.io.exceptions.FontCompressionException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayPool;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -72,6 +72,17 @@ class Woff2Dec {
 
     private final static int kEndPtsOfContoursOffset = 10;
 
+    // Only ring buffers of up to 256k are kept per thread, bigger ones are allocated for each font
+    private final static int kMaxRetainedRingBufferSize = 1 << 18;
+
+    // brotli decoder keeps its lookup tables and ring buffer between the fonts
+    private static final ThreadLocal<BrotliDecoder> BROTLI_DECODER = new ThreadLocal<BrotliDecoder>() {
+        @Override
+        protected BrotliDecoder initialValue() {
+            return new BrotliDecoder(kMaxRetainedRingBufferSize);
+        }
+    };
+
     // 98% of Google Fonts have no glyph above 5k bytes
     // Largest glyph ever observed was 72k bytes
     private final static int kDefaultGlyphBuf = 5120;
@@ -729,24 +740,13 @@ class Woff2Dec {
     }
 
     private static void woff2Uncompress(byte[] dst_buf, int dst_offset, int dst_length, byte[] src_buf, int src_offset, int src_length) {
-        int remain = dst_length;
+        int decoded;
         try {
-            BrotliInputStream stream = new BrotliInputStream(new ByteArrayInputStream(src_buf, src_offset, src_length));
-            while (remain > 0) {
-                int read = stream.read(dst_buf, dst_offset, dst_length);
-                if (read < 0) {
-                    throw new FontCompressionException(IoExceptionMessageConstant.BROTLI_DECODING_FAILED);
-                }
-                remain -= read;
-            }
-            //check that we read stream fully
-            if (stream.read() != -1) {
-                throw new FontCompressionException(IoExceptionMessageConstant.BROTLI_DECODING_FAILED);
-            }
+            decoded = BROTLI_DECODER.get().decode(src_buf, src_offset, src_length, dst_buf, dst_offset, dst_length);
         } catch (IOException any) {
             throw new FontCompressionException(IoExceptionMessageConstant.BROTLI_DECODING_FAILED);
         }
-        if (remain != 0) {
+        if (decoded != dst_length) {
             throw new FontCompressionException(IoExceptionMessageConstant.BROTLI_DECODING_FAILED);
         }
     }
@@ -854,7 +854,8 @@ class Woff2Dec {
                                         RebuildMetadata metadata,
                                         Woff2Header hdr,
                                         int font_index,
-                                        Woff2Out out) {
+                                        Woff2Out out,
+                                        boolean reconstructGlyphs) {
         int dest_offset = out.size();
         byte[] table_entry = new byte[12];
         Woff2FontInfo info = metadata.font_infos[font_index];
@@ -901,6 +902,10 @@ class Woff2Dec {
                     table.dst_offset = dest_offset;
                     checksum = computeULongSum(transformed_buf, transformed_buf_offset + table.src_offset, table.src_length);
                     out.write(transformed_buf, transformed_buf_offset + table.src_offset, table.src_length);
+                } else if (!reconstructGlyphs) {
+                    // transformed 'glyf', 'loca' and 'hmtx' tables are left empty
+                    table.dst_offset = dest_offset;
+                    table.dst_length = 0;
                 } else {
                     if (table.tag == kGlyfTableTag) {
                         table.dst_offset = dest_offset;
@@ -1192,6 +1197,12 @@ class Woff2Dec {
     // Works even if WOFF2Header totalSfntSize is wrong.
     // Please prefer this API.
     public static void convertWoff2ToTtf(byte[] data, int length, Woff2Out out) {
+        convertWoff2ToTtf(data, length, out, true);
+    }
+
+    // Same as above, but if reconstructGlyphs is false, transformed 'glyf', 'loca' and 'hmtx' tables
+    // are written empty. Such font is only good for reading names, 'head', 'OS/2' and 'post' tables.
+    public static void convertWoff2ToTtf(byte[] data, int length, Woff2Out out, boolean reconstructGlyphs) {
         RebuildMetadata metadata = new RebuildMetadata();
         Woff2Header hdr = new Woff2Header();
         readWoff2Header(data, length, hdr);
@@ -1203,11 +1214,15 @@ class Woff2Dec {
             throw new FontCompressionException(MessageFormatUtil.format("Implausible compression ratio {0}", compression_ratio));
         }
 
-        byte[] uncompressed_buf = new byte[hdr.uncompressed_size];
-        woff2Uncompress(uncompressed_buf, 0, hdr.uncompressed_size, data, hdr.compressed_offset, hdr.compressed_length);
+        byte[] uncompressed_buf = ByteArrayPool.acquire(hdr.uncompressed_size);
+        try {
+            woff2Uncompress(uncompressed_buf, 0, hdr.uncompressed_size, data, hdr.compressed_offset, hdr.compressed_length);
 
-        for (int i = 0; i < metadata.font_infos.length; i++) {
-            reconstructFont(uncompressed_buf, 0, hdr.uncompressed_size, metadata, hdr, i, out);
+            for (int i = 0; i < metadata.font_infos.length; i++) {
+                reconstructFont(uncompressed_buf, 0, hdr.uncompressed_size, metadata, hdr, i, out, reconstructGlyphs);
+            }
+        } finally {
+            ByteArrayPool.release(uncompressed_buf);
         }
     }
 }
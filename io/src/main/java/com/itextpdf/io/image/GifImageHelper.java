@@ -31,7 +31,9 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 public final class GifImageHelper {
 
@@ -127,6 +129,29 @@ public final class GifImageHelper {
         }
     }
 
+    /**
+     * Creates an iterator which reads and decodes the frames of the GIF image one at a time.
+     * Only the header is read eagerly; every call to {@link Iterator#next()} decodes a single frame,
+     * reusing the LZW decoder tables of the previous one. Decoded frames are not stored in
+     * the passed {@link GifImageData} instance.
+     *
+     * @param image GifImage
+     * @return iterator over the frames of the image
+     */
+    static Iterator<ImageData> createFrameIterator(GifImageData image) {
+        GifParameters gif = new GifParameters(image);
+        try {
+            if (image.getData() == null) {
+                image.loadData();
+            }
+            gif.input = new ByteArrayInputStream(image.getData());
+            readHeader(gif);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.GIF_IMAGE_EXCEPTION, e);
+        }
+        return new FrameIterator(gif);
+    }
+
     private static void process(InputStream stream, GifParameters gif, int lastFrameNumber) throws java.io.IOException {
         gif.input = stream;
         readHeader(gif);
@@ -222,19 +247,28 @@ public final class GifImageHelper {
 
     private static void readContents(GifParameters gif, int lastFrameNumber) throws java.io.IOException {
         // read GIF file content blocks
-        boolean done = false;
         gif.currentFrame = 0;
-        while (!done) {
+        RawImageData frame;
+        while ((frame = readNextFrame(gif)) != null) {
+            gif.image.addFrame(frame);
+            if (gif.currentFrame++ == lastFrameNumber) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads content blocks up to and including the next image descriptor.
+     *
+     * @return the decoded frame or {@code null} if the trailer or end of data was reached
+     */
+    private static RawImageData readNextFrame(GifParameters gif) throws java.io.IOException {
+        while (true) {
             int code = gif.input.read();
             switch (code) {
                 case 0x2C:
                     // image separator
-                    readFrame(gif);
-                    if (gif.currentFrame == lastFrameNumber) {
-                        done = true;
-                    }
-                    gif.currentFrame++;
-                    break;
+                    return readFrame(gif);
                 case 0x21:
                     // extension
                     code = gif.input.read();
@@ -255,8 +289,7 @@ public final class GifImageHelper {
                     }
                     break;
                 default:
-                    done = true;
-                    break;
+                    return null;
             }
         }
     }
@@ -264,7 +297,7 @@ public final class GifImageHelper {
     /**
      * Reads next frame image
      */
-    private static void readFrame(GifParameters gif) throws java.io.IOException {
+    private static RawImageData readFrame(GifParameters gif) throws java.io.IOException {
         // (sub)image position & size
         gif.ix = readShort(gif);
         gif.iy = readShort(gif);
@@ -315,10 +348,10 @@ public final class GifImageHelper {
             RawImageData img = new RawImageData(gif.m_out, ImageType.GIF);
             RawImageHelper.updateRawImageParameters(img, gif.iw, gif.ih, 1, gif.m_bpc, gif.m_out);
             RawImageHelper.updateImageAttributes(img, ad);
-            gif.image.addFrame(img);
             if (gif.transparency) {
                 img.setTransparency(new int[]{gif.transIndex, gif.transIndex});
             }
+            return img;
         } catch (Exception e) {
             throw new IOException(IoExceptionMessageConstant.GIF_IMAGE_EXCEPTION, e);
         }
@@ -522,4 +555,46 @@ public final class GifImageHelper {
             readBlock(gif);
         } while (gif.blockSize > 0);
     }
+
+    private static final class FrameIterator implements Iterator<ImageData> {
+        private final GifParameters gif;
+        private RawImageData nextFrame;
+        private boolean finished;
+
+        FrameIterator(GifParameters gif) {
+            this.gif = gif;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextFrame == null && !finished) {
+                try {
+                    nextFrame = readNextFrame(gif);
+                } catch (java.io.IOException e) {
+                    throw new IOException(IoExceptionMessageConstant.GIF_IMAGE_EXCEPTION, e);
+                }
+                if (nextFrame == null) {
+                    finished = true;
+                    // drop the decoder state, it is not needed anymore
+                    gif.input = null;
+                    gif.prefix = null;
+                    gif.suffix = null;
+                    gif.pixelStack = null;
+                } else {
+                    gif.currentFrame++;
+                }
+            }
+            return nextFrame != null;
+        }
+
+        @Override
+        public ImageData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ImageData frame = nextFrame;
+            nextFrame = null;
+            return frame;
+        }
+    }
 }
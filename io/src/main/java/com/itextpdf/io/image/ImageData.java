@@ -34,9 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
 
-public abstract class ImageData {
+public abstract class ImageData implements Cloneable {
 
     /** a static that is used for attributing a unique id to each image. */
     private static long serialId = 0;
@@ -335,6 +336,40 @@ public abstract class ImageData {
         data = stream.toByteArray();
     }
 
+    /**
+     * Creates a copy of the image which can be modified through the setters independently of this image.
+     * The image data bytes and the ICC profile are shared with this image, the image mask is copied the same way.
+     * Subclasses with other mutable state override this method to copy it as well.
+     *
+     * @return the copy of the image with a new serial id
+     */
+    ImageData copy() {
+        ImageData copy;
+        try {
+            copy = (ImageData) super.clone();
+        } catch (CloneNotSupportedException e) {
+            // should never happen since Cloneable is implemented
+            throw new IllegalStateException(e);
+        }
+        copy.mySerialId = getSerialId();
+        if (transparency != null) {
+            copy.transparency = transparency.clone();
+        }
+        if (decode != null) {
+            copy.decode = decode.clone();
+        }
+        if (decodeParms != null) {
+            copy.decodeParms = new HashMap<>(decodeParms);
+        }
+        if (imageAttributes != null) {
+            copy.imageAttributes = new HashMap<>(imageAttributes);
+        }
+        if (imageMask != null) {
+            copy.imageMask = imageMask.copy();
+        }
+        return copy;
+    }
+
     /** Creates a new serial id.
      * @return the new serialId */
     private static Long getSerialId() {
@@ -0,0 +1,262 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.DeflaterOutputStream;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the images created by {@link ImageDataFactory#create(byte[], boolean)} and
+ * {@link ImageDataFactory#create(java.net.URL, boolean)}, so that an image which is embedded into many documents,
+ * e.g. a logo in generated documents, is parsed only once.
+ * <p>
+ * The footprint limit set with {@link #setMaxFootprint(long)} follows the convention of
+ * {@link com.itextpdf.io.font.FontCache}: with a positive limit the least recently used images are evicted once
+ * the size of the cached image data exceeds it, a negative limit makes the cache unbounded, and zero, which is
+ * the default, disables the cache.
+ * <p>
+ * Every lookup returns a copy of the cached image, which can be modified through its setters without affecting
+ * other users. The copies share the image data bytes and the ICC profiles with each other, so the arrays returned
+ * by {@link ImageData#getData()}, {@link com.itextpdf.io.colors.IccProfile#getData()} and
+ * {@link Jpeg2000ImageData.ColorSpecBox#getColorProfile()} of an image created with the cache enabled
+ * shall be treated as read-only.
+ */
+public final class ImageDataCache {
+
+    private static final Object lock = new Object();
+
+    // Access ordered, so that the least recently used images come first.
+    private static final Map<ImageDataCacheKey, ImageData> imageCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<ImageDataCacheKey, Long> imageFootprints = new HashMap<>();
+
+    private static long maxFootprint = 0;
+    private static boolean precompressData;
+    private static long footprint;
+    private static long hitCount;
+    private static long missCount;
+    private static long evictionCount;
+
+    private ImageDataCache() {
+    }
+
+    /**
+     * Sets the limit of the size of the cached image data in bytes. Once it is exceeded,
+     * the least recently used images are evicted from the cache.
+     * <p>
+     * Pass a negative value to make the cache unbounded. Zero, which is the default, disables the cache.
+     *
+     * @param maxFootprint the limit of the size of the cached image data in bytes,
+     *                     or negative value for the unbounded cache
+     */
+    public static void setMaxFootprint(long maxFootprint) {
+        synchronized (lock) {
+            ImageDataCache.maxFootprint = maxFootprint;
+            evictIfNeeded(null);
+        }
+    }
+
+    /**
+     * Gets the limit of the size of the cached image data in bytes.
+     *
+     * @return the limit of the footprint, negative value if the cache is unbounded or zero if it is disabled
+     */
+    public static long getMaxFootprint() {
+        synchronized (lock) {
+            return maxFootprint;
+        }
+    }
+
+    /**
+     * Gets the size of the cached image data in bytes.
+     *
+     * @return the footprint of the cached images
+     */
+    public static long getFootprint() {
+        synchronized (lock) {
+            return footprint;
+        }
+    }
+
+    /**
+     * Sets whether uncompressed image samples, e.g. decoded PNG, GIF or BMP pixels, are deflated once when
+     * the image is put into the cache. Such images are then written to every document as is, instead of
+     * being compressed again when each document is flushed. Images created before the option is set
+     * are not affected.
+     *
+     * @param precompressData {@code true} to deflate the cached image samples, {@code false} otherwise
+     */
+    public static void setPrecompressData(boolean precompressData) {
+        synchronized (lock) {
+            ImageDataCache.precompressData = precompressData;
+        }
+    }
+
+    /**
+     * Checks whether uncompressed image samples are deflated when the image is put into the cache.
+     *
+     * @return {@code true} if the cached image samples are deflated, {@code false} otherwise
+     */
+    public static boolean isPrecompressData() {
+        synchronized (lock) {
+            return precompressData;
+        }
+    }
+
+    /**
+     * Gets the number of image lookups which found a cached image.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHitCount() {
+        synchronized (lock) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * Gets the number of image lookups which did not find a cached image.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMissCount() {
+        synchronized (lock) {
+            return missCount;
+        }
+    }
+
+    /**
+     * Gets the number of images evicted from the cache because of the footprint limit.
+     *
+     * @return the number of evicted images
+     */
+    public static long getEvictionCount() {
+        synchronized (lock) {
+            return evictionCount;
+        }
+    }
+
+    /**
+     * Removes all images from the cache and resets its statistics.
+     */
+    public static void clear() {
+        synchronized (lock) {
+            imageCache.clear();
+            imageFootprints.clear();
+            footprint = 0;
+            hitCount = 0;
+            missCount = 0;
+            evictionCount = 0;
+        }
+    }
+
+    static boolean isEnabled() {
+        synchronized (lock) {
+            return maxFootprint != 0;
+        }
+    }
+
+    static ImageData getImage(ImageDataCacheKey key) {
+        synchronized (lock) {
+            ImageData image = imageCache.get(key);
+            if (image != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+            return image;
+        }
+    }
+
+    static ImageData saveImage(ImageDataCacheKey key, ImageData image) {
+        boolean precompress;
+        synchronized (lock) {
+            ImageData imageFound = imageCache.get(key);
+            if (imageFound != null) {
+                return imageFound;
+            }
+            precompress = precompressData;
+        }
+        if (precompress) {
+            deflateSamples(image);
+            deflateSamples(image.getImageMask());
+        }
+        long imageFootprint = getDataLength(image) + getDataLength(image.getImageMask());
+        synchronized (lock) {
+            ImageData imageFound = imageCache.get(key);
+            if (imageFound != null) {
+                return imageFound;
+            }
+            imageCache.put(key, image);
+            imageFootprints.put(key, imageFootprint);
+            footprint += imageFootprint;
+            evictIfNeeded(key);
+            return image;
+        }
+    }
+
+    // Shall be called under the lock. The image saved last is kept even if it exceeds the limit alone.
+    private static void evictIfNeeded(ImageDataCacheKey savedKey) {
+        if (maxFootprint < 0) {
+            return;
+        }
+        Iterator<Map.Entry<ImageDataCacheKey, ImageData>> iterator = imageCache.entrySet().iterator();
+        while (footprint > maxFootprint && iterator.hasNext()) {
+            Map.Entry<ImageDataCacheKey, ImageData> entry = iterator.next();
+            if (entry.getKey().equals(savedKey)) {
+                continue;
+            }
+            footprint -= imageFootprints.remove(entry.getKey());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static long getDataLength(ImageData image) {
+        return image == null || image.getData() == null ? 0 : image.getData().length;
+    }
+
+    private static void deflateSamples(ImageData image) {
+        if (image == null || image.getData() == null || image.getFilter() != null || image.isDeflated()
+                || !image.isRawImage()) {
+            return;
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            DeflaterOutputStream zip = new DeflaterOutputStream(stream);
+            zip.write(image.getData());
+            zip.close();
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+        image.data = stream.toByteArray();
+        image.setDeflated(true);
+        image.setFilter("FlateDecode");
+    }
+}
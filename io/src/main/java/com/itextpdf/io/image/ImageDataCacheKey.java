@@ -0,0 +1,139 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.exceptions.IOException;
+import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Key of the {@link ImageDataCache}. Images passed as bytes are identified by the SHA-256 digest of their content,
+ * images located in local files by the file path together with its length and last modification time.
+ */
+abstract class ImageDataCacheKey {
+
+    static ImageDataCacheKey create(byte[] bytes, boolean recoverImage) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return new ImageDataCacheBytesKey(digest, bytes.length, recoverImage);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(IoExceptionMessageConstant.IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Creates the key for the image at the given URL.
+     *
+     * @param url the location of the image
+     * @param recoverImage whether the image is created with the recovery from image errors
+     * @return the key, or {@code null} if the URL does not point to a local file, in which case
+     * there is no cheap way to find out whether the content has changed
+     */
+    static ImageDataCacheKey create(URL url, boolean recoverImage) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        File file;
+        try {
+            file = new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!file.isFile()) {
+            return null;
+        }
+        return new ImageDataCacheFileKey(file.getAbsolutePath(), file.length(), file.lastModified(), recoverImage);
+    }
+
+    private static class ImageDataCacheBytesKey extends ImageDataCacheKey {
+        private final byte[] digest;
+        private final int length;
+        private final boolean recoverImage;
+        private final int hashcode;
+
+        ImageDataCacheBytesKey(byte[] digest, int length, boolean recoverImage) {
+            this.digest = digest;
+            this.length = length;
+            this.recoverImage = recoverImage;
+            this.hashcode = calcHashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ImageDataCacheBytesKey that = (ImageDataCacheBytesKey) o;
+            return length == that.length && recoverImage == that.recoverImage && Arrays.equals(digest, that.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashcode;
+        }
+
+        private int calcHashCode() {
+            int result = Arrays.hashCode(digest);
+            result = 31 * result + length;
+            result = 31 * result + (recoverImage ? 1 : 0);
+            return result;
+        }
+    }
+
+    private static class ImageDataCacheFileKey extends ImageDataCacheKey {
+        private final String path;
+        private final long length;
+        private final long lastModified;
+        private final boolean recoverImage;
+
+        ImageDataCacheFileKey(String path, long length, long lastModified, boolean recoverImage) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.recoverImage = recoverImage;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ImageDataCacheFileKey that = (ImageDataCacheFileKey) o;
+            return length == that.length && lastModified == that.lastModified
+                    && recoverImage == that.recoverImage && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = path.hashCode();
+            result = 31 * result + (int) (length ^ (length >>> 32));
+            result = 31 * result + (int) (lastModified ^ (lastModified >>> 32));
+            result = 31 * result + (recoverImage ? 1 : 0);
+            return result;
+        }
+    }
+}
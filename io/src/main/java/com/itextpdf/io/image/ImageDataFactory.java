@@ -24,14 +24,18 @@ package com.itextpdf.io.image;
 
 import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.codec.CCITTG4Encoder;
+import com.itextpdf.io.codec.Jbig2SegmentReader;
 import com.itextpdf.io.codec.TIFFFaxDecoder;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.RASInputStream;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.util.UrlUtil;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 public final class ImageDataFactory {
@@ -43,10 +47,19 @@ public final class ImageDataFactory {
      * Create an ImageData instance representing the image from the image bytes.
      * @param bytes byte representation of the image.
      * @param recoverImage whether to recover from a image error (for TIFF-images)
-     * @return The created ImageData object.
+     * @return The created ImageData object. If the {@link ImageDataCache} is enabled, it shares
+     * the image data bytes with the cached image.
      */
     public static ImageData create(byte[] bytes, boolean recoverImage) {
-        return createImageInstance(bytes, recoverImage);
+        if (!ImageDataCache.isEnabled()) {
+            return createImageInstance(bytes, recoverImage);
+        }
+        ImageDataCacheKey key = ImageDataCacheKey.create(bytes, recoverImage);
+        ImageData image = ImageDataCache.getImage(key);
+        if (image == null) {
+            image = ImageDataCache.saveImage(key, createImageInstance(bytes, recoverImage));
+        }
+        return image.copy();
     }
 
     /**
@@ -62,10 +75,19 @@ public final class ImageDataFactory {
      * Create an ImageData instance representing the image from the file located at the specified url.
      * @param url location of the image
      * @param recoverImage whether to recover from a image error (for TIFF-images)
-     * @return The created ImageData object.
+     * @return The created ImageData object. If the {@link ImageDataCache} is enabled and the url points
+     * to a local file, it shares the image data bytes with the cached image.
      */
     public static ImageData create(URL url, boolean recoverImage) {
-        return createImageInstance(url, recoverImage);
+        ImageDataCacheKey key = ImageDataCache.isEnabled() ? ImageDataCacheKey.create(url, recoverImage) : null;
+        if (key == null) {
+            return createImageInstance(url, recoverImage);
+        }
+        ImageData image = ImageDataCache.getImage(key);
+        if (image == null) {
+            image = ImageDataCache.saveImage(key, createImageInstance(url, recoverImage));
+        }
+        return image.copy();
     }
 
     /**
@@ -305,6 +327,32 @@ public final class ImageDataFactory {
         return image.getFrames();
     }
 
+    /**
+     * Returns an <CODE>Iterator</CODE> which decodes the gif image frames one by one, in the order
+     * they are stored in the file. Unlike {@link #createGifFrames(byte[])} the frames are not
+     * decoded upfront, so only the frame currently being read is held in memory, and unlike
+     * repeated {@link #createGifFrame(byte[], int)} calls the file is only parsed once.
+     *
+     * @param bytes byte array of gif image
+     * @return iterator over the frames of gif image
+     */
+    public static Iterator<ImageData> createGifFrameIterator(byte[] bytes) {
+        validateImageType(bytes, ImageType.GIF);
+        return GifImageHelper.createFrameIterator(new GifImageData(bytes));
+    }
+
+    /**
+     * Returns an <CODE>Iterator</CODE> which decodes the gif image frames one by one, in the order
+     * they are stored in the file. See {@link #createGifFrameIterator(byte[])}.
+     *
+     * @param url url of gif image
+     * @return iterator over the frames of gif image
+     */
+    public static Iterator<ImageData> createGifFrameIterator(URL url) {
+        validateImageType(url, ImageType.GIF);
+        return GifImageHelper.createFrameIterator(new GifImageData(url));
+    }
+
     public static ImageData createJbig2(URL url, int page) {
         if (page < 1)
             throw new IllegalArgumentException("The page number must be greater than 0");
@@ -324,6 +372,32 @@ public final class ImageDataFactory {
 
     }
 
+    /**
+     * Creates an ImageData instance for a page of a JBIG2 image whose segments have already been read.
+     * Unlike {@link #createJbig2(byte[], int)}, the segment headers and data are not parsed again for
+     * each page, so all the pages of a multi-page image can be created in a single pass over the file:
+     * <pre>
+     * Jbig2SegmentReader reader = new Jbig2SegmentReader(raf);
+     * reader.read();
+     * for (int page = 1; page &lt;= reader.numberOfPages(); page++) {
+     *     ImageData image = ImageDataFactory.createJbig2(reader, page);
+     * }
+     * </pre>
+     *
+     * @param segmentReader the reader which has already read the segments of the image
+     * @param page the page to create, starting from 1
+     * @return created ImageData
+     */
+    public static ImageData createJbig2(Jbig2SegmentReader segmentReader, int page) {
+        if (page < 1)
+            throw new IllegalArgumentException("The page number must be greater than 0");
+        if (!segmentReader.isRead())
+            throw new IllegalArgumentException("The segments of the JBIG2 image must be read before creating a page");
+        ImageData image = new Jbig2ImageData((byte[]) null, page);
+        Jbig2ImageHelper.processImage(image, segmentReader);
+        return image;
+    }
+
     /**
      * Create an {@link ImageData} instance from a Jpeg image url
      * @param url URL
@@ -386,6 +460,26 @@ public final class ImageDataFactory {
         return image;
     }
 
+    /**
+     * Creates an ImageData instance for one page of a TIFF read from a seekable source, e.g. a memory mapped file.
+     * Only the directory and the strips of the requested page are read, so a multi-page TIFF can be converted
+     * page by page (see {@link TiffImageData#getNumberOfPages(RandomAccessFileOrArray)}) without loading
+     * the whole file into memory. The source is not closed and must stay open while the page is processed.
+     *
+     * @param source a seekable source containing a TIFF image
+     * @param recoverFromImageError whether to recover from a image error
+     * @param page the page to read, starting from 1
+     * @param direct whether single strip CCITT data should be embedded as is
+     * @return created ImageData
+     */
+    public static ImageData createTiff(RandomAccessFileOrArray source, boolean recoverFromImageError, int page,
+            boolean direct) {
+        validateImageType(source, ImageType.TIFF);
+        ImageData image = new TiffImageData(source, recoverFromImageError, page, direct);
+        TiffImageHelper.processImage(image);
+        return image;
+    }
+
     public static ImageData createRawImage(byte[] bytes) {
         return new RawImageData(bytes, ImageType.RAW);
     }
@@ -540,6 +634,14 @@ public final class ImageDataFactory {
         }
     }
 
+    private static void validateImageType(RandomAccessFileOrArray source, ImageType expectedType) {
+        ImageType detectedType = ImageTypeDetector.detectImageType(new RASInputStream(source.createSourceView()));
+        if (detectedType != expectedType) {
+            throw new IllegalArgumentException(expectedType.name() +
+                    " image expected. Detected image type: " + detectedType.name());
+        }
+    }
+
     private static void validateImageType(URL imageUrl, ImageType expectedType) {
         ImageType detectedType = ImageTypeDetector.detectImageType(imageUrl);
         if (detectedType != expectedType) {
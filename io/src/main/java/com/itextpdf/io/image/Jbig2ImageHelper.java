@@ -65,28 +65,52 @@ class Jbig2ImageHelper {
             RandomAccessFileOrArray raf = new RandomAccessFileOrArray(ras);
             Jbig2SegmentReader sr = new Jbig2SegmentReader(raf);
             sr.read();
-            Jbig2SegmentReader.Jbig2Page p = sr.getPage(image.getPage());
             raf.close();
+            processPage(image, sr);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.JBIG2_IMAGE_EXCEPTION, e);
+        }
+    }
 
-            image.setHeight(p.pageBitmapHeight);
-            image.setWidth(p.pageBitmapWidth);
-            image.setBpc(1);
-            image.setColorEncodingComponentsNumber(1);
+    /**
+     * Processes the page of the JBIG2 image using the segments which have already been read,
+     * so that the pages of a multi-page image don't have to parse the whole file again.
+     *
+     * @param jbig2 the image to process
+     * @param sr the reader which has already read the segments of the image
+     */
+    public static void processImage(ImageData jbig2, Jbig2SegmentReader sr) {
+        if (jbig2.getOriginalType() != ImageType.JBIG2)
+            throw new IllegalArgumentException("JBIG2 image expected");
+        try {
+            processPage((Jbig2ImageData) jbig2, sr);
+        } catch (java.io.IOException e) {
+            throw new IOException(IoExceptionMessageConstant.JBIG2_IMAGE_EXCEPTION, e);
+        }
+    }
 
-            byte[] globals = sr.getGlobal(true);
+    private static void processPage(Jbig2ImageData image, Jbig2SegmentReader sr) throws java.io.IOException {
+        Jbig2SegmentReader.Jbig2Page p = sr.getPage(image.getPage());
+        if (p == null) {
+            throw new IOException(IoExceptionMessageConstant.JBIG2_IMAGE_EXCEPTION);
+        }
 
-            if (globals != null) {
-                Map<String, Object> decodeParms = new HashMap<>();
-                decodeParms.put("JBIG2Globals", globals);
-                image.decodeParms = decodeParms;
-            }
+        image.setHeight(p.pageBitmapHeight);
+        image.setWidth(p.pageBitmapWidth);
+        image.setBpc(1);
+        image.setColorEncodingComponentsNumber(1);
 
-            image.setFilter("JBIG2Decode");
-            image.setColorEncodingComponentsNumber(1);
-            image.setBpc(1);
-            image.data = p.getData(true);
-        } catch (java.io.IOException e) {
-            throw new IOException(IoExceptionMessageConstant.JBIG2_IMAGE_EXCEPTION, e);
+        byte[] globals = sr.getGlobal(true);
+
+        if (globals != null) {
+            Map<String, Object> decodeParms = new HashMap<>();
+            decodeParms.put("JBIG2Globals", globals);
+            image.decodeParms = decodeParms;
         }
+
+        image.setFilter("JBIG2Decode");
+        image.setColorEncodingComponentsNumber(1);
+        image.setBpc(1);
+        image.data = p.getData(true);
     }
 }
@@ -90,4 +90,34 @@ public class Jpeg2000ImageData extends ImageData {
     public Jpeg2000ImageData.Parameters getParameters() {
         return parameters;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The parameters are copied as well, except for the ICC profiles of the color specification boxes,
+     * which are shared.
+     */
+    @Override
+    ImageData copy() {
+        Jpeg2000ImageData copy = (Jpeg2000ImageData) super.copy();
+        if (parameters != null) {
+            copy.parameters = new Parameters();
+            copy.parameters.numOfComps = parameters.numOfComps;
+            copy.parameters.isJp2 = parameters.isJp2;
+            copy.parameters.isJpxBaseline = parameters.isJpxBaseline;
+            if (parameters.bpcBoxData != null) {
+                copy.parameters.bpcBoxData = parameters.bpcBoxData.clone();
+            }
+            if (parameters.colorSpecBoxes != null) {
+                copy.parameters.colorSpecBoxes = new ArrayList<>(parameters.colorSpecBoxes.size());
+                for (ColorSpecBox box : parameters.colorSpecBoxes) {
+                    ColorSpecBox boxCopy = new ColorSpecBox();
+                    boxCopy.addAll(box);
+                    boxCopy.setColorProfile(box.getColorProfile());
+                    copy.parameters.colorSpecBoxes.add(boxCopy);
+                }
+            }
+        }
+        return copy;
+    }
 }
@@ -82,4 +82,13 @@ public class PngImageData extends RawImageData {
     public boolean isGrayscaleImage() {
         return (this.colorType & 2) == 0;
     }
+
+    @Override
+    ImageData copy() {
+        PngImageData copy = (PngImageData) super.copy();
+        if (colorPalette != null) {
+            copy.colorPalette = colorPalette.clone();
+        }
+        return copy;
+    }
 }
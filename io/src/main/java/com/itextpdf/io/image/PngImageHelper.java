@@ -529,6 +529,10 @@ class PngImageHelper {
         int srcX, dstX;
         int colorType = png.image.getColorType();
 
+        if (png.bitDepth >= 8 && !png.genBWMask && !(png.palShades && (colorType & 4) == 0)) {
+            splitByteAlignedPixels(curr, xOffset, step, y, width, png);
+            return;
+        }
         int[] outPixel = getPixel(curr, png);
         int sizes = 0;
         switch (colorType) {
@@ -621,6 +625,40 @@ class PngImageHelper {
         }
     }
 
+    /**
+     * Copies an unfiltered row of 8 or 16 bit samples straight into the color data and the alpha mask.
+     * Only the most significant byte of 16 bit samples is kept, as {@link #setPixel} does, but the row is
+     * not expanded into an intermediate int array first.
+     */
+    private static void splitByteAlignedPixels(byte[] curr, int xOffset, int step, int y, int width,
+            PngParameters png) {
+        int bytesPerSample = png.bitDepth / 8;
+        int sizes = png.inputBands - ((png.image.getColorType() & 4) != 0 ? 1 : 0);
+        int srcStride = png.inputBands * bytesPerSample;
+        if (png.imageData != null) {
+            int dst = (y * png.width + xOffset) * sizes;
+            int dstStep = step * sizes;
+            if (sizes == 1) {
+                for (int src = 0, srcEnd = width * srcStride; src < srcEnd; src += srcStride, dst += dstStep) {
+                    png.imageData[dst] = curr[src];
+                }
+            } else {
+                for (int src = 0, srcEnd = width * srcStride; src < srcEnd; src += srcStride, dst += dstStep) {
+                    png.imageData[dst] = curr[src];
+                    png.imageData[dst + 1] = curr[src + bytesPerSample];
+                    png.imageData[dst + 2] = curr[src + 2 * bytesPerSample];
+                }
+            }
+        }
+        if (png.palShades) {
+            int dst = y * png.width + xOffset;
+            for (int src = sizes * bytesPerSample, srcEnd = width * srcStride; src < srcEnd;
+                    src += srcStride, dst += step) {
+                png.smask[dst] = curr[src];
+            }
+        }
+    }
+
     private static int getPixel(byte[] image, int x, int y, int bitDepth, int bytesPerRow) {
         if (bitDepth == 8) {
             int pos = bytesPerRow * y + x;
@@ -36,6 +36,7 @@ public class TiffImageData extends RawImageData {
     private boolean recoverFromImageError;
     private int page;
     private boolean direct;
+    private RandomAccessFileOrArray source;
 
     protected TiffImageData(URL url, boolean recoverFromImageError, int page, boolean direct) {
         super(url, ImageType.TIFF);
@@ -51,6 +52,14 @@ public class TiffImageData extends RawImageData {
         this.direct = direct;
     }
 
+    TiffImageData(RandomAccessFileOrArray source, boolean recoverFromImageError, int page, boolean direct) {
+        super((byte[]) null, ImageType.TIFF);
+        this.source = source;
+        this.recoverFromImageError = recoverFromImageError;
+        this.page = page;
+        this.direct = direct;
+    }
+
     private static ImageData getImage(URL url, boolean recoverFromImageError, int page, boolean direct) {
         return new TiffImageData(url, recoverFromImageError, page, direct);
     }
@@ -93,6 +102,23 @@ public class TiffImageData extends RawImageData {
         return direct;
     }
 
+    /**
+     * Gets the seekable source the page is read from, if the image was not created from a URL or a byte array.
+     *
+     * @return the source, or {@code null} if the whole TIFF is kept in {@link #getData()}
+     */
+    RandomAccessFileOrArray getSource() {
+        return source;
+    }
+
+    /**
+     * Drops the reference to the seekable source once the page has been read from it, so that the image
+     * doesn't keep the source and its buffers reachable.
+     */
+    void releaseSource() {
+        source = null;
+    }
+
     public void setOriginalType(ImageType originalType) {
         this.originalType = originalType;
     }
@@ -62,15 +62,22 @@ class TiffImageHelper {
         if (image.getOriginalType() != ImageType.TIFF)
             throw new IllegalArgumentException("TIFF image expected");
         try {
-            IRandomAccessSource ras;
-            if (image.getData() == null) {
-                image.loadData();
+            RandomAccessFileOrArray raf;
+            RandomAccessFileOrArray source = ((TiffImageData) image).getSource();
+            if (source != null) {
+                // only the directory and the strips of the requested page are read from the source
+                raf = source.createView();
+            } else {
+                if (image.getData() == null) {
+                    image.loadData();
+                }
+                IRandomAccessSource ras = new RandomAccessSourceFactory().createSource(image.getData());
+                raf = new RandomAccessFileOrArray(ras);
             }
-            ras = new RandomAccessSourceFactory().createSource(image.getData());
-            RandomAccessFileOrArray raf = new RandomAccessFileOrArray(ras);
             TiffParameters tiff = new TiffParameters((TiffImageData)image);
             processTiffImage(raf, tiff);
             raf.close();
+            ((TiffImageData) image).releaseSource();
 
             if (!tiff.jpegProcessing) {
                 RawImageHelper.updateImageAttributes(tiff.image, tiff.additional);
@@ -198,6 +198,9 @@ public final class IoLogMessageConstant {
             "Flushed object contains indirect reference which doesn't refer to any other object. Null object will be "
                     + "written instead.";
 
+    public static final String FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ =
+            "Font descriptor index {0} cannot be read. Fonts will be parsed again and the index will be rebuilt.";
+
     public static final String FONT_DICTIONARY_WITH_NO_FONT_DESCRIPTOR =
             "Font dictionary does not contain required /FontDescriptor entry.";
 
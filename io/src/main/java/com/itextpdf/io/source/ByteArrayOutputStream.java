@@ -24,6 +24,8 @@ package com.itextpdf.io.source;
 
 public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream{
 
+    private boolean pooled;
+
     public ByteArrayOutputStream() {
         super();
     }
@@ -32,15 +34,75 @@ public class ByteArrayOutputStream extends java.io.ByteArrayOutputStream{
         super(size);
     }
 
+    /**
+     * Creates a stream with the specified initial capacity.
+     *
+     * @param size   the initial capacity
+     * @param pooled if {@code true}, the internal arrays are taken from {@link ByteArrayPool} and
+     *               {@link #release()} shall be called once the content isn't needed anymore
+     */
+    public ByteArrayOutputStream(int size, boolean pooled) {
+        super(pooled ? 0 : size);
+        if (pooled) {
+            this.pooled = true;
+            buf = ByteArrayPool.acquire(Math.max(size, 1));
+        }
+    }
+
     public ByteArrayOutputStream assignBytes(byte[] bytes, int count) {
+        releasePooledBuffer();
         buf = bytes;
         this.count = count;
         return this;
     }
 
     public ByteArrayOutputStream assignBytes(byte[] bytes) {
-        buf = bytes;
-        this.count = bytes.length;
+        return assignBytes(bytes, bytes.length);
+    }
+
+    @Override
+    public void write(int b) {
+        ensurePooledCapacity(count + 1);
+        super.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (len > 0) {
+            ensurePooledCapacity(count + len);
+        }
+        super.write(b, off, len);
+    }
+
+    /**
+     * Returns the internal array to {@link ByteArrayPool} and empties the stream, if it was created in pooled mode.
+     * Does nothing otherwise.
+     *
+     * @return this stream
+     */
+    public ByteArrayOutputStream release() {
+        if (pooled) {
+            ByteArrayPool.release(buf);
+            buf = new byte[0];
+            count = 0;
+        }
         return this;
     }
+
+    private void ensurePooledCapacity(int minCapacity) {
+        if (pooled && minCapacity > buf.length && minCapacity > 0) {
+            byte[] newBuf = ByteArrayPool.acquire(Math.max(buf.length << 1, minCapacity));
+            System.arraycopy(buf, 0, newBuf, 0, count);
+            ByteArrayPool.release(buf);
+            buf = newBuf;
+        }
+    }
+
+    private void releasePooledBuffer() {
+        if (pooled) {
+            // the assigned array is owned by the caller, so it must never get into the pool
+            ByteArrayPool.release(buf);
+            pooled = false;
+        }
+    }
 }
@@ -0,0 +1,226 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide pool of the byte arrays backing the temporary {@link ByteBuffer} and {@link ByteArrayOutputStream}
+ * instances created while writing and reading documents, so that generating many documents concurrently doesn't
+ * allocate and throw away the same buffers over and over again.
+ * <p>
+ * The pool is disabled by default. It is enabled by setting a positive limit with
+ * {@link #setMaxRetainedBytes(long)}. Arrays are grouped into power of two size classes from
+ * 128 bytes to 1 MB, each of them guarded by its own lock. Larger arrays are never pooled, and released arrays
+ * are dropped once the size of the retained arrays would exceed the limit.
+ * <p>
+ * Only the buffers of the instances created in pooled mode, e.g. with
+ * {@link ByteArrayOutputStream#ByteArrayOutputStream(int, boolean)}, are taken from the pool. They are returned to it
+ * by the explicit {@code release()} call of their owner, after which the released array shall not be used anymore.
+ */
+public final class ByteArrayPool {
+
+    private static final int MIN_SIZE_CLASS_SHIFT = 7;
+    private static final int MAX_SIZE_CLASS_SHIFT = 20;
+
+    private static final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+
+    private static volatile long maxRetainedBytes = 0;
+    private static final AtomicLong retainedBytes = new AtomicLong();
+    private static final AtomicLong acquireCount = new AtomicLong();
+    private static final AtomicLong reuseCount = new AtomicLong();
+    private static final AtomicLong releaseCount = new AtomicLong();
+    private static final AtomicLong discardCount = new AtomicLong();
+
+    static {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass();
+        }
+    }
+
+    private ByteArrayPool() {
+    }
+
+    /**
+     * Sets the limit of the size of the arrays retained by the pool in bytes.
+     * <p>
+     * Zero, which is the default, disables the pool and drops all the retained arrays.
+     *
+     * @param maxRetainedBytes the limit of the size of the retained arrays in bytes
+     */
+    public static void setMaxRetainedBytes(long maxRetainedBytes) {
+        ByteArrayPool.maxRetainedBytes = Math.max(0, maxRetainedBytes);
+        if (retainedBytes.get() > ByteArrayPool.maxRetainedBytes) {
+            clear();
+        }
+    }
+
+    /**
+     * Gets the limit of the size of the arrays retained by the pool in bytes.
+     *
+     * @return the limit of the size of the retained arrays in bytes, zero if the pool is disabled
+     */
+    public static long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * Checks whether the pool is enabled.
+     *
+     * @return {@code true} if a positive limit of the retained bytes is set
+     */
+    public static boolean isEnabled() {
+        return maxRetainedBytes > 0;
+    }
+
+    /**
+     * Gets an array of at least the requested length. If the pool is enabled, the length is rounded up to
+     * the size class, and a previously released array of that class is returned if there is one.
+     * If the pool is disabled, a new array of exactly the requested length is returned.
+     *
+     * @param minLength the minimal length of the array
+     * @return the array, its content is undefined
+     */
+    public static byte[] acquire(int minLength) {
+        int sizeClassIndex = getSizeClassIndex(minLength);
+        if (!isEnabled() || sizeClassIndex < 0) {
+            return new byte[minLength];
+        }
+        acquireCount.incrementAndGet();
+        SizeClass sizeClass = sizeClasses[sizeClassIndex];
+        byte[] buffer;
+        synchronized (sizeClass) {
+            buffer = sizeClass.buffers.pollLast();
+        }
+        if (buffer == null) {
+            return new byte[1 << (sizeClassIndex + MIN_SIZE_CLASS_SHIFT)];
+        }
+        retainedBytes.addAndGet(-buffer.length);
+        reuseCount.incrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns the array to the pool, so that it can be reused by the following {@link #acquire(int)} calls.
+     * Arrays whose length is not one of the size classes, and arrays which don't fit into the limit of the retained
+     * bytes, are left for the garbage collector. Does nothing if the pool is disabled.
+     *
+     * @param buffer the array which will not be used by the caller anymore
+     */
+    public static void release(byte[] buffer) {
+        if (!isEnabled() || buffer == null) {
+            return;
+        }
+        int sizeClassIndex = getSizeClassIndex(buffer.length);
+        if (sizeClassIndex < 0 || buffer.length != 1 << (sizeClassIndex + MIN_SIZE_CLASS_SHIFT)) {
+            return;
+        }
+        if (retainedBytes.addAndGet(buffer.length) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-buffer.length);
+            discardCount.incrementAndGet();
+            return;
+        }
+        SizeClass sizeClass = sizeClasses[sizeClassIndex];
+        synchronized (sizeClass) {
+            sizeClass.buffers.addLast(buffer);
+        }
+        releaseCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of {@link #acquire(int)} calls served while the pool was enabled.
+     *
+     * @return the number of pooled acquisitions
+     */
+    public static long getAcquireCount() {
+        return acquireCount.get();
+    }
+
+    /**
+     * Gets the number of {@link #acquire(int)} calls which got a previously released array
+     * instead of allocating a new one.
+     *
+     * @return the number of reused arrays
+     */
+    public static long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    /**
+     * Gets the number of arrays retained by {@link #release(byte[])}.
+     *
+     * @return the number of released arrays
+     */
+    public static long getReleaseCount() {
+        return releaseCount.get();
+    }
+
+    /**
+     * Gets the number of released arrays dropped because the limit of the retained bytes was reached.
+     *
+     * @return the number of discarded arrays
+     */
+    public static long getDiscardCount() {
+        return discardCount.get();
+    }
+
+    /**
+     * Gets the size of the arrays currently retained by the pool in bytes.
+     *
+     * @return the size of the retained arrays in bytes
+     */
+    public static long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * Drops all the retained arrays and resets the counters.
+     */
+    public static void clear() {
+        for (SizeClass sizeClass : sizeClasses) {
+            synchronized (sizeClass) {
+                for (byte[] buffer : sizeClass.buffers) {
+                    retainedBytes.addAndGet(-buffer.length);
+                }
+                sizeClass.buffers.clear();
+            }
+        }
+        acquireCount.set(0);
+        reuseCount.set(0);
+        releaseCount.set(0);
+        discardCount.set(0);
+    }
+
+    private static int getSizeClassIndex(int length) {
+        if (length <= 0 || length > 1 << MAX_SIZE_CLASS_SHIFT) {
+            return -1;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(length - 1);
+        return Math.max(shift, MIN_SIZE_CLASS_SHIFT) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static final class SizeClass {
+        final ArrayDeque<byte[]> buffers = new ArrayDeque<>();
+    }
+}
@@ -31,15 +31,28 @@ public class ByteBuffer {
 
     protected int count;
     private byte[] buffer;
+    private final boolean pooled;
 
     public ByteBuffer() {
         this(128);
     }
 
     public ByteBuffer(int size) {
+        this(size, false);
+    }
+
+    /**
+     * Creates a buffer of the specified initial capacity.
+     *
+     * @param size   the initial capacity
+     * @param pooled if {@code true}, the internal arrays are taken from {@link ByteArrayPool} and
+     *               {@link #release()} shall be called once the content isn't needed anymore
+     */
+    public ByteBuffer(int size, boolean pooled) {
         if (size < 1)
             size = 128;
-        buffer = new byte[size];
+        this.pooled = pooled;
+        buffer = pooled ? ByteArrayPool.acquire(size) : new byte[size];
     }
 
     public static int getHex(int v) {
@@ -55,9 +68,7 @@ public class ByteBuffer {
     public ByteBuffer append(byte b) {
         int newCount = count + 1;
         if (newCount > buffer.length) {
-            byte[] newBuffer = new byte[Math.max(buffer.length << 1, newCount)];
-            System.arraycopy(buffer, 0, newBuffer, 0, count);
-            buffer = newBuffer;
+            grow(newCount);
         }
         buffer[count] = b;
         count = newCount;
@@ -70,9 +81,7 @@ public class ByteBuffer {
             return this;
         int newCount = count + len;
         if (newCount > buffer.length) {
-            byte[] newBuffer = new byte[Math.max(buffer.length << 1, newCount)];
-            System.arraycopy(buffer, 0, newBuffer, 0, count);
-            buffer = newBuffer;
+            grow(newCount);
         }
         System.arraycopy(b, off, buffer, count, len);
         count = newCount;
@@ -124,6 +133,22 @@ public class ByteBuffer {
         return this;
     }
 
+    /**
+     * Returns the internal array to {@link ByteArrayPool} and empties the buffer, if it was created in pooled mode.
+     * Does nothing otherwise. Arrays previously obtained with {@link #getInternalBuffer()} shall not be used
+     * after this call.
+     *
+     * @return this buffer
+     */
+    public ByteBuffer release() {
+        if (pooled) {
+            ByteArrayPool.release(buffer);
+            buffer = new byte[0];
+            count = 0;
+        }
+        return this;
+    }
+
     public byte[] toByteArray(int off, int len) {
         byte[] newBuf = new byte[len];
         System.arraycopy(buffer, off, newBuf, 0, len);
@@ -167,4 +192,14 @@ public class ByteBuffer {
         count += b.length;
         return this;
     }
+
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(buffer.length << 1, minCapacity);
+        byte[] newBuffer = pooled ? ByteArrayPool.acquire(newCapacity) : new byte[newCapacity];
+        System.arraycopy(buffer, 0, newBuffer, 0, count);
+        if (pooled) {
+            ByteArrayPool.release(buffer);
+        }
+        buffer = newBuffer;
+    }
 }
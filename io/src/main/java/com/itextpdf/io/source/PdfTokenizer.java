@@ -114,7 +114,7 @@ public class PdfTokenizer implements Closeable {
      */
     public PdfTokenizer(RandomAccessFileOrArray file) {
         this.file = file;
-        this.outBuf = new ByteBuffer();
+        this.outBuf = new ByteBuffer(128, true);
     }
 
     public void seek(long pos) {
@@ -130,6 +130,7 @@ public class PdfTokenizer implements Closeable {
     }
 
     public void close() throws java.io.IOException {
+        outBuf.release();
         if (closeStream)
             file.close();
     }
@@ -24,16 +24,16 @@ package com.itextpdf.io.util;
 
 import com.itextpdf.io.exceptions.IOException;
 import com.itextpdf.io.exceptions.IoExceptionMessageConstant;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteArrayPool;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 /**
  * This file is a helper class for internal usage only.
@@ -41,8 +41,16 @@ import java.util.zip.InflaterInputStream;
  */
 public final class FilterUtil {
 
-    /** The Logger instance. */
-    private static final Logger LOGGER = LoggerFactory.getLogger(FilterUtil.class);
+    private static final int INFLATE_BUFFER_SIZE = 8192;
+
+    private static final int CORRUPTED_INPUT_CHUNK_SIZE = 512;
+
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
 
     private FilterUtil() {
     }
@@ -56,28 +64,59 @@ public final class FilterUtil {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(input);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length, true);
         try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                output.write(b, 0, n);
-            }
-            zip.close();
-            output.close();
+            inflate(input, strict, output);
             return output.toByteArray();
         } catch (Exception e) {
             return strict ? null : output.toByteArray();
-        }finally {
-            try {
-                zip.close();
-                output.close();
-            }catch(Exception e){
-                //Log the error
-                LOGGER.error(e.getMessage(),e);
+        } finally {
+            output.release();
+        }
+    }
+
+    /**
+     * Inflates zlib compressed data into the passed stream. The {@link Inflater} is reused
+     * between the calls made from the same thread, so decoding many small streams doesn't pay
+     * for allocating and releasing the native zlib state every time.
+     *
+     * @param input  the input data
+     * @param strict <CODE>true</CODE> to read a correct stream. <CODE>false</CODE>
+     *               to inflate a corrupted stream byte by byte, so that as much data as possible
+     *               is written to the output before the error is thrown
+     * @param output the stream the inflated bytes will be written to
+     * @throws java.io.IOException if the data is truncated or corrupted, or if writing to the output fails
+     */
+    public static void inflate(byte[] input, boolean strict, OutputStream output) throws java.io.IOException {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        // A corrupted stream is fed in small chunks, the same way InflaterInputStream does it,
+        // since it affects how many bytes are inflated before the error is detected
+        int inputChunk = strict ? input.length : CORRUPTED_INPUT_CHUNK_SIZE;
+        int inputOffset = 0;
+        byte[] b = strict ? ByteArrayPool.acquire(INFLATE_BUFFER_SIZE) : new byte[1];
+        try {
+            while (true) {
+                int n = inflater.inflate(b);
+                if (n > 0) {
+                    output.write(b, 0, n);
+                } else if (inflater.finished() || inflater.needsDictionary()) {
+                    return;
+                } else if (inflater.needsInput()) {
+                    if (inputOffset >= input.length) {
+                        throw new EOFException("Unexpected end of ZLIB input stream");
+                    }
+                    int length = Math.min(inputChunk, input.length - inputOffset);
+                    inflater.setInput(input, inputOffset, length);
+                    inputOffset += length;
+                }
             }
+        } catch (DataFormatException e) {
+            String message = e.getMessage();
+            throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+        } finally {
+            inflater.reset();
+            ByteArrayPool.release(b);
         }
     }
 
@@ -0,0 +1,116 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class CCITTG4EncoderTest extends ExtendedITextTest {
+
+    @Test
+    public void roundTripTest() {
+        Random random = new Random(42);
+        int[] widths = {1, 7, 8, 63, 64, 65, 130, 1000};
+        for (int width : widths) {
+            int height = 20;
+            byte[] image = createImage(width, height, random);
+            byte[] encoded = CCITTG4Encoder.compress(image, width, height);
+
+            byte[] decoded = new byte[image.length];
+            new TIFFFaxDecoder(1, width, height).decodeT6(decoded, encoded, 0, height, 0);
+            Assertions.assertArrayEquals(clearPadding(image, width), decoded, "width " + width);
+        }
+    }
+
+    @Test
+    public void rowByRowEncodingTest() {
+        int width = 300;
+        int height = 40;
+        int rowBytes = (width + 7) / 8;
+        byte[] image = createImage(width, height, new Random(7));
+
+        CCITTG4Encoder encoder = new CCITTG4Encoder(width);
+        byte[] row = new byte[rowBytes];
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(image, y * rowBytes, row, 0, rowBytes);
+            encoder.fax4Encode(row, 1);
+            // the encoder shall not keep references to the passed data
+            Arrays.fill(row, (byte) 0x5A);
+        }
+        Assertions.assertArrayEquals(CCITTG4Encoder.compress(image, width, height), encoder.close());
+    }
+
+    @Test
+    public void whiteImageTest() {
+        int width = 2550;
+        byte[] image = new byte[(width + 7) / 8 * 10];
+        byte[] encoded = CCITTG4Encoder.compress(image, width, 10);
+        byte[] decoded = new byte[image.length];
+        new TIFFFaxDecoder(1, width, 10).decodeT6(decoded, encoded, 0, 10, 0);
+        Assertions.assertArrayEquals(image, decoded);
+    }
+
+    // mixes long runs, dense noise and rows equal to the previous one
+    private static byte[] createImage(int width, int height, Random random) {
+        int rowBytes = (width + 7) / 8;
+        byte[] image = new byte[rowBytes * height];
+        byte[] noise = new byte[rowBytes];
+        for (int y = 0; y < height; y++) {
+            switch (y % 4) {
+                case 0:
+                    random.nextBytes(noise);
+                    System.arraycopy(noise, 0, image, y * rowBytes, rowBytes);
+                    break;
+                case 1:
+                    Arrays.fill(image, y * rowBytes, (y + 1) * rowBytes, (byte) 0xFF);
+                    for (int k = 0; k < 3; k++) {
+                        image[y * rowBytes + random.nextInt(rowBytes)] = (byte) random.nextInt(256);
+                    }
+                    break;
+                case 2:
+                    System.arraycopy(image, (y - 1) * rowBytes, image, y * rowBytes, rowBytes);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return image;
+    }
+
+    private static byte[] clearPadding(byte[] image, int width) {
+        int rowBytes = (width + 7) / 8;
+        byte[] result = image.clone();
+        if (width % 8 != 0) {
+            for (int y = 0; y < result.length / rowBytes; y++) {
+                result[(y + 1) * rowBytes - 1] &= (byte) (0xFF << (8 - width % 8));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.codec.brotli.dec;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BrotliDecoder}.
+ */
+@Tag("UnitTest")
+public class BrotliDecoderTest extends ExtendedITextTest {
+
+  private static final byte[] X10Y10 = Transform.readUniBytes(
+      "\u001B\u0013\u0000\u0000\u00A4\u00B0\u00B2\u00EA\u0081G\u0002\u008A");
+
+  private static final byte[] FOX = Transform.readUniBytes(
+      "\u001B*\u0000\u0000\u0004\u0004\u00BAF:\u0085\u0003\u00E9\u00FA\f\u0091\u0002H\u0011,"
+      + "\u00F3\u008A:\u00A3V\u007F\u001A\u00AE\u00BF\u00A4\u00AB\u008EM\u00BF\u00ED\u00E2\u0004K"
+      + "\u0091\u00FF\u0087\u00E9\u001E");
+
+  private static final byte[] UKKONOOA = Transform.readUniBytes(
+      "\u001Bv\u0000\u0000\u0014J\u00AC\u009Bz\u00BD\u00E1\u0097\u009D\u007F\u008E\u00C2\u0082"
+      + "6\u000E\u009C\u00E0\u0090\u0003\u00F7\u008B\u009E8\u00E6\u00B6\u0000\u00AB\u00C3\u00CA"
+      + "\u00A0\u00C2\u00DAf6\u00DC\u00CD\u0080\u008D.!\u00D7n\u00E3\u00EAL\u00B8\u00F0\u00D2"
+      + "\u00B8\u00C7\u00C2pM:\u00F0i~\u00A1\u00B8Es\u00AB\u00C4W\u001E");
+
+  @Test
+  public void decodeToArrayTest() throws IOException {
+    byte[] dst = new byte[100];
+    int length = new BrotliDecoder().decode(FOX, 0, FOX.length, dst, 10, 90);
+    Assertions.assertEquals("The quick brown fox jumps over the lazy dog",
+        new String(dst, 10, length, "US-ASCII"));
+  }
+
+  @Test
+  public void decodeExactFitTest() throws IOException {
+    byte[] dst = new byte[20];
+    Assertions.assertEquals(20, new BrotliDecoder().decode(X10Y10, 0, X10Y10.length, dst, 0, 20));
+    Assertions.assertEquals("XXXXXXXXXXYYYYYYYYYY", new String(dst, "US-ASCII"));
+  }
+
+  @Test
+  public void decodeToSmallArrayTest() throws IOException {
+    BrotliDecoder decoder = new BrotliDecoder();
+    byte[] dst = new byte[19];
+    Assertions.assertThrows(IOException.class,
+        () -> decoder.decode(X10Y10, 0, X10Y10.length, dst, 0, dst.length));
+    // Decoder is still usable after failure.
+    Assertions.assertArrayEquals(decompressWithStream(FOX), decoder.decode(FOX, 0, FOX.length));
+  }
+
+  @Test
+  public void decodeFromArrayRegionTest() throws IOException {
+    byte[] src = new byte[UKKONOOA.length + 7];
+    System.arraycopy(UKKONOOA, 0, src, 5, UKKONOOA.length);
+    Assertions.assertArrayEquals(decompressWithStream(UKKONOOA),
+        new BrotliDecoder().decode(src, 5, UKKONOOA.length));
+  }
+
+  @Test
+  public void decodeByteBufferTest() throws IOException {
+    BrotliDecoder decoder = new BrotliDecoder();
+    byte[] expected = decompressWithStream(UKKONOOA);
+
+    ByteBuffer heap = ByteBuffer.allocate(UKKONOOA.length + 3);
+    heap.position(3);
+    heap.put(UKKONOOA);
+    heap.position(3);
+    Assertions.assertArrayEquals(expected, decoder.decode(heap.slice()));
+    Assertions.assertEquals(3, heap.position());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(UKKONOOA.length);
+    direct.put(UKKONOOA);
+    direct.flip();
+    Assertions.assertArrayEquals(expected, decoder.decode(direct));
+    Assertions.assertEquals(0, direct.position());
+  }
+
+  @Test
+  public void unusedBytesAfterEndTest() throws IOException {
+    BrotliDecoder decoder = new BrotliDecoder();
+    byte[] src = new byte[FOX.length + 1];
+    System.arraycopy(FOX, 0, src, 0, FOX.length);
+    Assertions.assertThrows(IOException.class, () -> decoder.decode(src, 0, src.length));
+    Assertions.assertArrayEquals(decompressWithStream(X10Y10), decoder.decode(X10Y10, 0, X10Y10.length));
+  }
+
+  @Test
+  public void truncatedInputTest() throws IOException {
+    BrotliDecoder decoder = new BrotliDecoder();
+    Assertions.assertThrows(IOException.class, () -> decoder.decode(UKKONOOA, 0, UKKONOOA.length / 2));
+    Assertions.assertThrows(IOException.class, () -> decoder.decode(UKKONOOA, 0, 0));
+    Assertions.assertArrayEquals(decompressWithStream(UKKONOOA),
+        decoder.decode(UKKONOOA, 0, UKKONOOA.length));
+  }
+
+  @Test
+  public void reuseDecoderForStreamsOfDifferentSizeTest() throws IOException {
+    Random random = new Random(42);
+    byte[] large = new byte[200000];
+    for (int i = 0; i < large.length; i++) {
+      large[i] = (byte) random.nextInt(16);
+    }
+    byte[] small = new byte[1000];
+    System.arraycopy(large, 5000, small, 0, small.length);
+    byte[][] streams = {
+        compressStored(large, 16), UKKONOOA, compressStored(small, 16), FOX,
+        compressStored(large, 22), X10Y10, compressStored(new byte[0], 16), compressStored(large, 16)
+    };
+
+    BrotliDecoder decoder = new BrotliDecoder();
+    for (byte[] stream : streams) {
+      byte[] expected = decompressWithStream(stream);
+      Assertions.assertArrayEquals(expected, decoder.decode(stream, 0, stream.length));
+      byte[] dst = new byte[expected.length];
+      Assertions.assertEquals(expected.length, decoder.decode(stream, 0, stream.length, dst, 0, dst.length));
+      Assertions.assertArrayEquals(expected, dst);
+    }
+    Assertions.assertArrayEquals(large, decoder.decode(streams[0], 0, streams[0].length));
+    Assertions.assertArrayEquals(small, decoder.decode(streams[2], 0, streams[2].length));
+  }
+
+  @Test
+  public void reusedRingBufferTailDoesNotAffectLiteralContextTest() throws IOException {
+    byte[] data = new byte[200000];
+    Arrays.fill(data, (byte) 'z');
+    byte[] filling = compressStored(data, 16);
+    byte[] contextDependent = compressContextDependentLiterals();
+    Assertions.assertArrayEquals("abbb".getBytes("US-ASCII"), decompressWithStream(contextDependent));
+
+    BrotliDecoder decoder = new BrotliDecoder();
+    Assertions.assertArrayEquals(data, decoder.decode(filling, 0, filling.length));
+    Assertions.assertArrayEquals("abbb".getBytes("US-ASCII"),
+        decoder.decode(contextDependent, 0, contextDependent.length));
+  }
+
+  @Test
+  public void bigRingBufferIsNotRetainedTest() throws IOException {
+    byte[] data = new byte[200000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 251);
+    }
+    byte[] smallWindow = compressStored(data, 16);
+    byte[] bigWindow = compressStored(data, 22);
+
+    BrotliDecoder decoder = new BrotliDecoder(1 << 16);
+    Assertions.assertArrayEquals(data, decoder.decode(smallWindow, 0, smallWindow.length));
+    Assertions.assertEquals(1 << 16, decoder.getRetainedRingBufferSize());
+    Assertions.assertArrayEquals(data, decoder.decode(bigWindow, 0, bigWindow.length));
+    Assertions.assertEquals(0, decoder.getRetainedRingBufferSize());
+    Assertions.assertArrayEquals(data, decoder.decode(smallWindow, 0, smallWindow.length));
+
+    BrotliDecoder defaultDecoder = new BrotliDecoder();
+    Assertions.assertArrayEquals(data, defaultDecoder.decode(bigWindow, 0, bigWindow.length));
+    Assertions.assertTrue(defaultDecoder.getRetainedRingBufferSize() > 1 << 16);
+  }
+
+  private static byte[] decompressWithStream(byte[] data) throws IOException {
+    BrotliInputStream input = new BrotliInputStream(new ByteArrayInputStream(data));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[65536];
+    int len;
+    while ((len = input.read(buffer, 0, buffer.length)) > 0) {
+      output.write(buffer, 0, len);
+    }
+    input.close();
+    return output.toByteArray();
+  }
+
+  /**
+   * Creates brotli stream made of uncompressed meta-blocks.
+   */
+  private static byte[] compressStored(byte[] data, int windowBits) {
+    BitWriter writer = new BitWriter();
+    if (windowBits == 16) {
+      writer.write(0, 1);
+    } else {
+      writer.write(1, 1);
+      writer.write(windowBits - 17, 3);
+    }
+    int offset = 0;
+    while (offset < data.length) {
+      int length = Math.min(1 << 16, data.length - offset);
+      // ISLAST, MNIBBLES = 4, MLEN - 1, ISUNCOMPRESSED
+      writer.write(0, 1);
+      writer.write(0, 2);
+      writer.write(length - 1, 16);
+      writer.write(1, 1);
+      writer.alignToByte();
+      writer.output.write(data, offset, length);
+      offset += length;
+    }
+    // ISLAST, ISLASTEMPTY
+    writer.write(3, 2);
+    writer.alignToByte();
+    return writer.output.toByteArray();
+  }
+
+  /**
+   * Creates brotli stream of 4 literals, which are decoded with literal tree 0 when the previous byte
+   * is 0 and with literal tree 1 otherwise. Literal tree 0 produces 'a' and literal tree 1 produces 'b',
+   * so the stream is decoded to "abbb" when it is started with empty history.
+   */
+  private static byte[] compressContextDependentLiterals() {
+    BitWriter writer = new BitWriter();
+    // WBITS = 16
+    writer.write(0, 1);
+    // ISLAST, ISLASTEMPTY, MNIBBLES = 4, MLEN - 1
+    writer.write(1, 1);
+    writer.write(0, 1);
+    writer.write(0, 2);
+    writer.write(3, 16);
+    // NBLTYPESL, NBLTYPESI, NBLTYPESD = 1, NPOSTFIX = 0, NDIRECT = 0
+    writer.write(0, 3);
+    writer.write(0, 2);
+    writer.write(0, 4);
+    // Literal context mode MSB6
+    writer.write(1, 2);
+    // NTREESL = 2, no RLE, simple prefix code with symbols 0 and 1
+    writer.write(1, 1);
+    writer.write(0, 3);
+    writer.write(0, 1);
+    writer.write(1, 2);
+    writer.write(1, 2);
+    writer.write(0, 1);
+    writer.write(1, 1);
+    // Context 0 is mapped to tree 0, all other contexts are mapped to tree 1, no inverse move-to-front
+    writer.write(0, 1);
+    for (int i = 1; i < 64; i++) {
+      writer.write(1, 1);
+    }
+    writer.write(0, 1);
+    // NTREESD = 1
+    writer.write(0, 1);
+    // Literal trees with single symbols 'a' and 'b'
+    writer.write(1, 2);
+    writer.write(0, 2);
+    writer.write('a', 8);
+    writer.write(1, 2);
+    writer.write(0, 2);
+    writer.write('b', 8);
+    // Insert-and-copy tree with single symbol: insert 4 literals, copy 2 bytes with the last distance
+    writer.write(1, 2);
+    writer.write(0, 2);
+    writer.write(32, 10);
+    // Distance tree with single symbol 0
+    writer.write(1, 2);
+    writer.write(0, 2);
+    writer.write(0, 6);
+    writer.alignToByte();
+    return writer.output.toByteArray();
+  }
+
+  private static final class BitWriter {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private int accumulator;
+    private int bitCount;
+
+    void write(int value, int bits) {
+      for (int i = 0; i < bits; i++) {
+        accumulator |= ((value >> i) & 1) << bitCount;
+        if (++bitCount == 8) {
+          alignToByte();
+        }
+      }
+    }
+
+    void alignToByte() {
+      if (bitCount != 0) {
+        output.write(accumulator);
+        accumulator = 0;
+        bitCount = 0;
+      }
+    }
+  }
+}
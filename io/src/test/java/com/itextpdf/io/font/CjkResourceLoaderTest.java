@@ -95,4 +95,14 @@ public class CjkResourceLoaderTest extends ExtendedITextTest {
         byte[] expected = {(byte) ((byteCode & 0xFF00) >> 8), (byte) (byteCode & 0xFF)};
         Assertions.assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void parsedCmapIsSharedTest() {
+        Assertions.assertSame(CjkResourceLoader.getUni2CidCmap("UniJIS-UTF16-H"),
+                CjkResourceLoader.getUni2CidCmap("UniJIS-UTF16-H"));
+        Assertions.assertSame(CjkResourceLoader.getCidToCodepointCmap("78ms-RKSJ-H"),
+                CjkResourceLoader.getCidToCodepointCmap("78ms-RKSJ-H"));
+        Assertions.assertNotSame(CjkResourceLoader.getCid2UniCmap("UniJIS-UTF16-H"),
+                CjkResourceLoader.getCid2UniCmap("UniJIS-UCS2-H"));
+    }
 }
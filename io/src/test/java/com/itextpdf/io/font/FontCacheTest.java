@@ -22,10 +22,12 @@
  */
 package com.itextpdf.io.font;
 
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.test.ExtendedITextTest;
 
 import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +39,13 @@ public class FontCacheTest extends ExtendedITextTest {
     @BeforeEach
     public void before() {
         FontCache.clearSavedFonts();
+        FontCache.setMaxFootprint(-1);
+    }
+
+    @AfterEach
+    public void after() {
+        FontCache.setMaxFootprint(-1);
+        FontCache.clearSavedFonts();
     }
 
     @Test
@@ -93,8 +102,150 @@ public class FontCacheTest extends ExtendedITextTest {
         Assertions.assertEquals(normalMockFontProgram, FontCache.getFont(normal));
     }
 
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() {
+        FontCache.setMaxFootprint(25 * FontCache.GLYPH_FOOTPRINT);
+        long evictionCount = FontCache.getEvictionCount();
+        FontProgram first = new FontProgramMock(10);
+        FontProgram second = new FontProgramMock(10);
+        FontCache.saveFont(first, "first");
+        FontCache.saveFont(second, "second");
+        Assertions.assertEquals(20 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+
+        // Makes the second font the least recently used one.
+        Assertions.assertEquals(first, FontCache.getFont("first"));
+        FontCache.saveFont(new FontProgramMock(10), "third");
+
+        Assertions.assertEquals(evictionCount + 1, FontCache.getEvictionCount());
+        Assertions.assertEquals(20 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+        Assertions.assertEquals(first, FontCache.getFont("first"));
+        Assertions.assertNull(FontCache.getFont("second"));
+        Assertions.assertNotNull(FontCache.getFont("third"));
+    }
+
+    @Test
+    public void fontsAreEvictedInBatchTest() {
+        FontCache.setMaxFootprint(80 * FontCache.GLYPH_FOOTPRINT);
+        long evictionCount = FontCache.getEvictionCount();
+        for (int i = 0; i < 8; i++) {
+            FontCache.saveFont(new FontProgramMock(10), "font" + i);
+        }
+        Assertions.assertEquals(evictionCount, FontCache.getEvictionCount());
+
+        // the limit is exceeded, the fonts are evicted down to the low-water mark of 70 glyphs
+        FontCache.saveFont(new FontProgramMock(10), "font8");
+        Assertions.assertEquals(evictionCount + 2, FontCache.getEvictionCount());
+        Assertions.assertEquals(70 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+        Assertions.assertNull(FontCache.getFont("font0"));
+        Assertions.assertNull(FontCache.getFont("font1"));
+
+        // the next font fits under the limit without another eviction
+        FontCache.saveFont(new FontProgramMock(10), "font9");
+        Assertions.assertEquals(evictionCount + 2, FontCache.getEvictionCount());
+        Assertions.assertEquals(80 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+    }
+
+    @Test
+    public void lastSavedFontIsKeptTest() {
+        FontCache.setMaxFootprint(5 * FontCache.GLYPH_FOOTPRINT);
+        FontProgram fontProgram = new FontProgramMock(10);
+        Assertions.assertEquals(fontProgram, FontCache.saveFont(fontProgram, "big"));
+        Assertions.assertEquals(fontProgram, FontCache.getFont("big"));
+
+        FontCache.saveFont(new FontProgramMock(1), "small");
+        Assertions.assertNull(FontCache.getFont("big"));
+    }
+
+    @Test
+    public void standardFontIsNotEvictedTest() throws java.io.IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        Assertions.assertEquals(0, FontCache.getFootprint());
+
+        FontCache.setMaxFootprint(0);
+        FontCache.saveFont(new FontProgramMock(10), "first");
+        FontCache.saveFont(new FontProgramMock(10), "second");
+        Assertions.assertNull(FontCache.getFont("first"));
+        Assertions.assertEquals(helvetica, FontProgramFactory.createFont(StandardFonts.HELVETICA));
+    }
+
+    @Test
+    public void zeroFootprintLimitDisablesCacheTest() {
+        FontCache.saveFont(new FontProgramMock(10), "first");
+        FontCache.setMaxFootprint(0);
+        Assertions.assertNull(FontCache.getFont("first"));
+
+        FontProgram font = new FontProgramMock(10);
+        Assertions.assertSame(font, FontCache.saveFont(font, "second"));
+        Assertions.assertNull(FontCache.getFont("second"));
+        Assertions.assertEquals(0, FontCache.getFootprint());
+    }
+
+    @Test
+    public void hitAndMissCountTest() {
+        long hitCount = FontCache.getHitCount();
+        long missCount = FontCache.getMissCount();
+        Assertions.assertNull(FontCache.getFont("font"));
+        FontCache.saveFont(new FontProgramMock(), "font");
+        Assertions.assertNotNull(FontCache.getFont("font"));
+        Assertions.assertNotNull(FontCache.getFont("font"));
+
+        Assertions.assertEquals(hitCount + 2, FontCache.getHitCount());
+        Assertions.assertEquals(missCount + 1, FontCache.getMissCount());
+    }
+
+    @Test
+    public void clearSavedFontsResetsFootprintTest() {
+        FontCache.saveFont(new FontProgramMock(10), "first");
+        FontCache.saveFont(new FontProgramMock(5), "second");
+        Assertions.assertEquals(15 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+
+        FontCache.clearSavedFonts();
+        Assertions.assertEquals(0, FontCache.getFootprint());
+        Assertions.assertNull(FontCache.getFont("first"));
+    }
+
+    @Test
+    public void concurrentLookupsTest() throws InterruptedException {
+        FontCache.setMaxFootprint(50 * FontCache.GLYPH_FOOTPRINT);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            final int threadIndex = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    String fontName = "font" + (threadIndex * 1000 + j) % 20;
+                    if (FontCache.getFont(fontName) == null) {
+                        FontCache.saveFont(new FontProgramMock(10), fontName);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // footprint stays consistent with the cached fonts and within the limit
+        long cachedFontsCount = 0;
+        for (int i = 0; i < 20; i++) {
+            if (FontCache.getFont("font" + i) != null) {
+                cachedFontsCount++;
+            }
+        }
+        Assertions.assertEquals(cachedFontsCount * 10 * FontCache.GLYPH_FOOTPRINT, FontCache.getFootprint());
+        Assertions.assertTrue(FontCache.getFootprint() <= 50 * FontCache.GLYPH_FOOTPRINT);
+    }
+
     private static class FontProgramMock extends FontProgram {
 
+        FontProgramMock() {
+            this(0);
+        }
+
+        FontProgramMock(int numberOfGlyphs) {
+            for (int i = 0; i < numberOfGlyphs; i++) {
+                codeToGlyph.put(i, new Glyph(i, 500, i));
+            }
+        }
+
         @Override
         public int getPdfFontFlags() {
             return 0;
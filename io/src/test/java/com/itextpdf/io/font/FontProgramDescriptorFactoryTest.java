@@ -48,4 +48,15 @@ public class FontProgramDescriptorFactoryTest extends ExtendedITextTest {
         Assertions.assertEquals("helvetica", descriptor.getFullNameLowerCase());
         Assertions.assertEquals(500, descriptor.getFontWeight());
     }
+
+    @Test
+    public void woff2NamesTest() throws java.io.IOException {
+        String fontPath = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/decoder/validation-loca-format-001.woff2";
+        FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontPath);
+        FontProgram fontProgram = FontProgramFactory.createFont(fontPath);
+        Assertions.assertNotNull(descriptor);
+        Assertions.assertEquals(fontProgram.getFontNames().getFontName(), descriptor.getFontName());
+        Assertions.assertEquals(fontProgram.getFontNames().getFontWeight(), descriptor.getFontWeight());
+        Assertions.assertEquals(fontProgram.getFontMetrics().getItalicAngle(), descriptor.getItalicAngle());
+    }
 }
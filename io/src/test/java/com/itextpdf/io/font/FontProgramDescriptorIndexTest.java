@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.logs.IoLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class FontProgramDescriptorIndexTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/io/font/otf/";
+    private static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/font/FontProgramDescriptorIndexTest/";
+
+    @BeforeAll
+    public static void beforeClass() {
+        createOrClearDestinationFolder(DESTINATION_FOLDER);
+    }
+
+    @Test
+    public void savedDescriptorIsLoadedTest() throws IOException {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        FontProgramDescriptor parsed = index.fetchDescriptor(FONTS_FOLDER + "FreeSansBold.ttf");
+        index.save(DESTINATION_FOLDER + "savedDescriptorIsLoaded.idx");
+
+        FontProgramDescriptorIndex loadedIndex =
+                FontProgramDescriptorIndex.load(DESTINATION_FOLDER + "savedDescriptorIsLoaded.idx");
+        Assertions.assertEquals(1, loadedIndex.size());
+        FontProgramDescriptor loaded = loadedIndex.fetchDescriptor(FONTS_FOLDER + "FreeSansBold.ttf");
+        Assertions.assertNotSame(parsed, loaded);
+        Assertions.assertEquals(parsed.getFontName(), loaded.getFontName());
+        Assertions.assertEquals(parsed.getFontNameLowerCase(), loaded.getFontNameLowerCase());
+        Assertions.assertEquals(parsed.getFullNameLowerCase(), loaded.getFullNameLowerCase());
+        Assertions.assertEquals(parsed.getFamilyNameLowerCase(), loaded.getFamilyNameLowerCase());
+        Assertions.assertEquals(parsed.getFamilyName2LowerCase(), loaded.getFamilyName2LowerCase());
+        Assertions.assertEquals(parsed.getFamilyNameEnglishOpenType(), loaded.getFamilyNameEnglishOpenType());
+        Assertions.assertEquals(parsed.getStyle(), loaded.getStyle());
+        Assertions.assertEquals(parsed.getFontWeight(), loaded.getFontWeight());
+        Assertions.assertEquals(parsed.getItalicAngle(), loaded.getItalicAngle());
+        Assertions.assertEquals(parsed.isMonospace(), loaded.isMonospace());
+        Assertions.assertEquals(parsed.isBold(), loaded.isBold());
+        Assertions.assertEquals(parsed.isItalic(), loaded.isItalic());
+        Assertions.assertEquals(parsed.getFullNameAllLangs(), loaded.getFullNameAllLangs());
+        Assertions.assertEquals(parsed.getFullNamesEnglishOpenType(), loaded.getFullNamesEnglishOpenType());
+    }
+
+    @Test
+    public void indexedFontIsNotParsedUntilChangedTest() throws IOException {
+        String fontPath = DESTINATION_FOLDER + "indexedFont.ttf";
+        Files.copy(Paths.get(FONTS_FOLDER + "FreeSans.ttf"), Paths.get(fontPath), StandardCopyOption.REPLACE_EXISTING);
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assertions.assertNotNull(index.fetchDescriptor(fontPath));
+        index.save(DESTINATION_FOLDER + "indexedFontIsNotParsedUntilChanged.idx");
+
+        // Breaks the font but keeps its size and modification time, so that the stored descriptor is still valid.
+        File fontFile = new File(fontPath);
+        long lastModified = fontFile.lastModified();
+        try (RandomAccessFile raf = new RandomAccessFile(fontFile, "rw")) {
+            raf.write(new byte[64]);
+        }
+        Assertions.assertTrue(fontFile.setLastModified(lastModified));
+        FontProgramDescriptorIndex loadedIndex =
+                FontProgramDescriptorIndex.load(DESTINATION_FOLDER + "indexedFontIsNotParsedUntilChanged.idx");
+        Assertions.assertEquals("FreeSans", loadedIndex.fetchDescriptor(fontPath).getFontName());
+
+        Assertions.assertTrue(fontFile.setLastModified(lastModified + 10000));
+        Assertions.assertNull(loadedIndex.fetchDescriptor(fontPath));
+    }
+
+    @Test
+    public void removedFontIsNotSavedTest() throws IOException {
+        String fontPath = DESTINATION_FOLDER + "removedFont.ttf";
+        Files.copy(Paths.get(FONTS_FOLDER + "FreeSans.ttf"), Paths.get(fontPath), StandardCopyOption.REPLACE_EXISTING);
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        index.fetchDescriptor(fontPath);
+        index.fetchDescriptor(FONTS_FOLDER + "FreeSans.ttf");
+        Assertions.assertEquals(2, index.size());
+        Files.delete(Paths.get(fontPath));
+        index.save(DESTINATION_FOLDER + "removedFontIsNotSaved.idx");
+
+        Assertions.assertEquals(1, FontProgramDescriptorIndex.load(DESTINATION_FOLDER + "removedFontIsNotSaved.idx")
+                .size());
+    }
+
+    @Test
+    public void saveReplacesIndexWithoutTemporaryFilesTest() throws IOException {
+        String indexFolder = DESTINATION_FOLDER + "replacedIndex/";
+        createOrClearDestinationFolder(indexFolder);
+        String indexPath = indexFolder + "replaced.idx";
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        index.fetchDescriptor(FONTS_FOLDER + "FreeSans.ttf");
+        index.save(indexPath);
+        index.fetchDescriptor(FONTS_FOLDER + "FreeSansBold.ttf");
+        index.save(indexPath);
+
+        Assertions.assertEquals(2, FontProgramDescriptorIndex.load(indexPath).size());
+        Assertions.assertArrayEquals(new String[] {"replaced.idx"}, new File(indexFolder).list());
+    }
+
+    @Test
+    public void standardFontIsNotIndexedTest() {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex();
+        Assertions.assertEquals("Helvetica", index.fetchDescriptor("Helvetica").getFontName());
+        Assertions.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void missingIndexIsEmptyTest() {
+        Assertions.assertEquals(0, FontProgramDescriptorIndex.load(DESTINATION_FOLDER + "missing.idx").size());
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = IoLogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ))
+    public void corruptedIndexIsEmptyTest() throws IOException {
+        String indexPath = DESTINATION_FOLDER + "corrupted.idx";
+        Files.write(Paths.get(indexPath), new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8});
+        Assertions.assertEquals(0, FontProgramDescriptorIndex.load(indexPath).size());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class TrueTypeFontSubsetTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/io/font/otf/";
+
+    @Test
+    public void subsetKeepsOnlyUsedGlyphsTest() throws IOException {
+        byte[] fontBytes = Files.readAllBytes(Paths.get(FONTS_FOLDER + "FreeSans.ttf"));
+        TrueTypeFont font = new TrueTypeFont(fontBytes);
+        int aGlyph = font.getGlyph('A').getCode();
+        int bGlyph = font.getGlyph('B').getCode();
+        int cGlyph = font.getGlyph('C').getCode();
+        Set<Integer> glyphs = new HashSet<>(Arrays.asList(aGlyph, bGlyph));
+
+        byte[] subset = createSubset(fontBytes, glyphs);
+        Assertions.assertTrue(subset.length < fontBytes.length);
+
+        // Outlines of not used glyphs are removed, so their length in the loca table becomes zero.
+        Assertions.assertTrue(getGlyphLength(subset, aGlyph) > 0);
+        Assertions.assertTrue(getGlyphLength(subset, bGlyph) > 0);
+        Assertions.assertEquals(0, getGlyphLength(subset, cGlyph));
+    }
+
+    @Test
+    public void subsetTableChecksumsTest() throws IOException {
+        byte[] fontBytes = Files.readAllBytes(Paths.get(FONTS_FOLDER + "FreeSans.ttf"));
+        TrueTypeFont font = new TrueTypeFont(fontBytes);
+        Set<Integer> glyphs = new HashSet<>();
+        for (char ch = 'a'; ch <= 'z'; ch++) {
+            glyphs.add(font.getGlyph(ch).getCode());
+        }
+        byte[] subset = createSubset(fontBytes, glyphs);
+
+        int numTables = readUnsignedShort(subset, 4);
+        for (int k = 0; k < numTables; k++) {
+            int entry = 12 + 16 * k;
+            int checksum = readInt(subset, entry + 4);
+            int offset = readInt(subset, entry + 8);
+            int length = readInt(subset, entry + 12);
+            String tag = new String(subset, entry, 4, StandardCharsets.US_ASCII);
+            if ("glyf".equals(tag) || "loca".equals(tag)) {
+                Assertions.assertEquals(calculateChecksum(subset, offset, length + 3 & ~3), checksum, tag);
+            }
+        }
+    }
+
+    private static byte[] createSubset(byte[] fontBytes, Set<Integer> glyphs) throws IOException {
+        RandomAccessFileOrArray raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(fontBytes));
+        return new TrueTypeFontSubset("FreeSans.ttf", raf, glyphs, 0, true).process();
+    }
+
+    private static int getGlyphLength(byte[] subset, int glyph) {
+        boolean locaShortTable = readUnsignedShort(subset, getTableOffset(subset, "head") + 50) == 0;
+        int loca = getTableOffset(subset, "loca");
+        if (locaShortTable) {
+            return 2 * (readUnsignedShort(subset, loca + 2 * glyph + 2) - readUnsignedShort(subset, loca + 2 * glyph));
+        }
+        return readInt(subset, loca + 4 * glyph + 4) - readInt(subset, loca + 4 * glyph);
+    }
+
+    private static int getTableOffset(byte[] font, String tag) {
+        int numTables = readUnsignedShort(font, 4);
+        for (int k = 0; k < numTables; k++) {
+            int entry = 12 + 16 * k;
+            if (tag.equals(new String(font, entry, 4, StandardCharsets.US_ASCII))) {
+                return readInt(font, entry + 8);
+            }
+        }
+        return -1;
+    }
+
+    private static int readUnsignedShort(byte[] b, int ptr) {
+        return (b[ptr] & 0xff) << 8 | b[ptr + 1] & 0xff;
+    }
+
+    private static int readInt(byte[] b, int ptr) {
+        return (b[ptr] & 0xff) << 24 | (b[ptr + 1] & 0xff) << 16 | (b[ptr + 2] & 0xff) << 8 | b[ptr + 3] & 0xff;
+    }
+
+    private static int calculateChecksum(byte[] b, int offset, int length) {
+        int sum = 0;
+        for (int ptr = offset; ptr < offset + length; ptr += 4) {
+            sum += readInt(b, ptr);
+        }
+        return sum;
+    }
+}
@@ -94,4 +94,21 @@ public class TrueTypeFontTest extends ExtendedITextTest {
         Assertions.assertEquals(1, actualResult.size());
         Assertions.assertTrue(actualResult.contains(charGidInFont));
     }
+
+    @Test
+    public void openTypeLayoutTablesAreReadOnRequestTest() throws IOException {
+        TrueTypeFont fontProgram = new TrueTypeFont(SOURCE_FOLDER + "Puritan2.otf");
+        Assertions.assertNotNull(fontProgram.getGsubTable());
+        Assertions.assertSame(fontProgram.getGsubTable(), fontProgram.getGsubTable());
+        Assertions.assertNotNull(fontProgram.getGposTable());
+        Assertions.assertNotNull(fontProgram.getGdefTable());
+    }
+
+    @Test
+    public void openTypeLayoutTablesAreAvailableAfterCloseTest() throws IOException {
+        TrueTypeFont fontProgram = new TrueTypeFont(SOURCE_FOLDER + "Puritan2.otf");
+        fontProgram.close();
+        Assertions.assertNotNull(fontProgram.getGsubTable());
+        Assertions.assertNotNull(fontProgram.getGposTable());
+    }
 }
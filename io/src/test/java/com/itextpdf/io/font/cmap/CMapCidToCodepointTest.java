@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.font.cmap;
 
+import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.test.ExtendedITextTest;
 
@@ -43,6 +44,39 @@ public class CMapCidToCodepointTest extends ExtendedITextTest {
         Assertions.assertArrayEquals(new byte[0], cidToCode.lookup(1));
     }
 
+    @Test
+    public void lookupReturnsCopyTest() {
+        CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
+        cidToCode.addChar(new String(new byte[] {32, 17}), new CMapObject(CMapObject.NUMBER, 14));
+        cidToCode.lookup(14)[0] = 0;
+
+        Assertions.assertArrayEquals(new byte[] {32, 17}, cidToCode.lookup(14));
+    }
+
+    @Test
+    public void fillCodeAndGetCodeLengthTest() {
+        CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
+        cidToCode.addChar(new String(new byte[] {32, 17}), new CMapObject(CMapObject.NUMBER, 14));
+        byte[] array = new byte[] {1, 2, 3, 4};
+
+        Assertions.assertEquals(2, cidToCode.getCodeLength(14));
+        Assertions.assertEquals(0, cidToCode.getCodeLength(1));
+        Assertions.assertEquals(3, cidToCode.fillCode(14, array, 1));
+        Assertions.assertEquals(1, cidToCode.fillCode(1, array, 1));
+        Assertions.assertArrayEquals(new byte[] {1, 32, 17, 4}, array);
+    }
+
+    @Test
+    public void appendCodeTest() {
+        CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
+        cidToCode.addChar(new String(new byte[] {32, 17}), new CMapObject(CMapObject.NUMBER, 14));
+        ByteBuffer buffer = new ByteBuffer();
+        cidToCode.appendCode(14, buffer);
+        cidToCode.appendCode(1, buffer);
+
+        Assertions.assertArrayEquals(new byte[] {32, 17}, buffer.toByteArray());
+    }
+
     @Test
     public void getReverseMapTest() {
         CMapCidToCodepoint cidToCode = new CMapCidToCodepoint();
@@ -68,5 +102,7 @@ public class CMapCidToCodepointTest extends ExtendedITextTest {
         Assertions.assertArrayEquals(new byte[] {12, 13}, codeSpaceRanges.get(1));
         Assertions.assertNull(codeSpaceRanges.get(2));
         Assertions.assertArrayEquals(new byte[] {}, codeSpaceRanges.get(3));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> codeSpaceRanges.clear());
     }
 }
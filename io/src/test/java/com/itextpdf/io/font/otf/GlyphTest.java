@@ -60,6 +60,27 @@ public class GlyphTest extends ExtendedITextTest {
         Assertions.assertTrue(glyph.hasOffsets());
     }
 
+    @Test
+    public void withSameOffsetsReturnsSameGlyphTest() {
+        Glyph glyph = new Glyph(createDummyGlyph(), 1, 2, 3, 4, 5);
+
+        Assertions.assertSame(glyph, glyph.withOffsets(1, 2, 3, 4, 5));
+        Assertions.assertSame(glyph, glyph.withOffsets(1, 2, 3, 4, 5 + 0x10000));
+    }
+
+    @Test
+    public void withDifferentOffsetsReturnsCopyTest() {
+        Glyph glyph = createDummyGlyph();
+
+        Glyph positioned = glyph.withOffsets(0, 0, 100, 0, 0);
+
+        Assertions.assertNotSame(glyph, positioned);
+        Assertions.assertEquals(glyph, positioned);
+        Assertions.assertEquals(0, glyph.getXAdvance());
+        Assertions.assertEquals(100, positioned.getXAdvance());
+        Assertions.assertEquals(0, positioned.getAnchorDelta());
+    }
+
     private static Glyph createDummyGlyph() {
         return new Glyph(0, 0, 0);
     }
@@ -0,0 +1,93 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.test.ExtendedITextTest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class OtfClassTest extends ExtendedITextTest {
+
+    @Test
+    public void classFormat1Test() {
+        // format 1, start glyph 10, 3 glyphs of classes 0, 3, 1
+        OtfClass otfClass = createOtfClass(1, 10, 3, 0, 3, 1);
+
+        Assertions.assertTrue(otfClass.hasClass(10));
+        Assertions.assertEquals(0, otfClass.getOtfClass(10));
+        Assertions.assertEquals(0, otfClass.getOtfClass(10, true));
+        Assertions.assertTrue(otfClass.isMarkOtfClass(11));
+        Assertions.assertEquals(OtfClass.GLYPH_BASE, otfClass.getOtfClass(12));
+
+        Assertions.assertFalse(otfClass.hasClass(9));
+        Assertions.assertFalse(otfClass.hasClass(13));
+        Assertions.assertEquals(0, otfClass.getOtfClass(13));
+        Assertions.assertEquals(-1, otfClass.getOtfClass(13, true));
+        Assertions.assertEquals(0, otfClass.getOtfClass(-1));
+    }
+
+    @Test
+    public void denseClassFormat2Test() {
+        // format 2, 2 ranges: 5-7 of class 2 and 9-9 of class 3
+        OtfClass otfClass = createOtfClass(2, 2, 5, 7, 2, 9, 9, 3);
+
+        Assertions.assertEquals(OtfClass.GLYPH_LIGATURE, otfClass.getOtfClass(5));
+        Assertions.assertEquals(OtfClass.GLYPH_LIGATURE, otfClass.getOtfClass(7));
+        Assertions.assertFalse(otfClass.hasClass(8));
+        Assertions.assertEquals(OtfClass.GLYPH_MARK, otfClass.getOtfClass(9));
+        Assertions.assertFalse(otfClass.hasClass(10));
+    }
+
+    @Test
+    public void sparseClassFormat2Test() {
+        // format 2, 2 ranges far away from each other: 1-1 of class 1 and 60000-60001 of class 3
+        OtfClass otfClass = createOtfClass(2, 2, 1, 1, 1, 60000, 60001, 3);
+
+        Assertions.assertEquals(OtfClass.GLYPH_BASE, otfClass.getOtfClass(1));
+        Assertions.assertEquals(OtfClass.GLYPH_MARK, otfClass.getOtfClass(60000));
+        Assertions.assertEquals(OtfClass.GLYPH_MARK, otfClass.getOtfClass(60001));
+        Assertions.assertFalse(otfClass.hasClass(2));
+        Assertions.assertFalse(otfClass.hasClass(30000));
+        Assertions.assertEquals(-1, otfClass.getOtfClass(30000, true));
+    }
+
+    @Test
+    public void invalidClassFormatTest() {
+        Assertions.assertNull(createOtfClass(3, 0));
+    }
+
+    private static OtfClass createOtfClass(int... values) {
+        byte[] bytes = new byte[values.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            bytes[2 * i] = (byte) (values[i] >> 8);
+            bytes[2 * i + 1] = (byte) values[i];
+        }
+        RandomAccessFileOrArray rf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes));
+        return OtfClass.create(rf, 0);
+    }
+}
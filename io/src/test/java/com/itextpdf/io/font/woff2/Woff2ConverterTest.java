@@ -0,0 +1,176 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.font.woff2;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.source.ByteArrayPool;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class Woff2ConverterTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/decoder/";
+
+    @AfterEach
+    public void after() {
+        Woff2Converter.setDecodedFontsCacheSize(0);
+        Woff2Converter.clearDecodedFonts();
+        ByteArrayPool.setMaxRetainedBytes(0);
+    }
+
+    @Test
+    public void cacheIsDisabledByDefaultTest() throws IOException {
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        Assertions.assertArrayEquals(Woff2Converter.convert(woff2), Woff2Converter.convert(woff2));
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsHitCount());
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsSize());
+    }
+
+    @Test
+    public void cachedConversionTest() throws IOException {
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        byte[] expected = Woff2Converter.convert(woff2);
+        Woff2Converter.setDecodedFontsCacheSize(16 * 1024 * 1024);
+
+        byte[] first = Woff2Converter.convert(woff2);
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsHitCount());
+        Assertions.assertEquals(woff2.length + expected.length, Woff2Converter.getDecodedFontsSize());
+        byte[] second = Woff2Converter.convert(woff2.clone());
+        Assertions.assertEquals(1, Woff2Converter.getDecodedFontsHitCount());
+        Assertions.assertArrayEquals(expected, first);
+        Assertions.assertArrayEquals(expected, second);
+        // Callers get their own copies, so the cached font cannot be modified.
+        Assertions.assertNotSame(first, second);
+        first[0] = (byte) ~first[0];
+        Assertions.assertArrayEquals(expected, Woff2Converter.convert(woff2));
+        Assertions.assertEquals(2, Woff2Converter.getDecodedFontsHitCount());
+    }
+
+    @Test
+    public void tooSmallCacheTest() throws IOException {
+        Woff2Converter.setDecodedFontsCacheSize(16);
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        Assertions.assertArrayEquals(Woff2Converter.convert(woff2), Woff2Converter.convert(woff2));
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsHitCount());
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsSize());
+    }
+
+    @Test
+    public void evictionTest() throws IOException {
+        byte[] firstWoff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        byte[] secondWoff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-002.woff2"));
+        long firstSize = firstWoff2.length + Woff2Converter.convert(firstWoff2).length;
+        long secondSize = secondWoff2.length + Woff2Converter.convert(secondWoff2).length;
+        Woff2Converter.setDecodedFontsCacheSize(Math.max(firstSize, secondSize));
+
+        Woff2Converter.convert(firstWoff2);
+        Assertions.assertEquals(firstSize, Woff2Converter.getDecodedFontsSize());
+        Woff2Converter.convert(secondWoff2);
+        Assertions.assertEquals(secondSize, Woff2Converter.getDecodedFontsSize());
+        Woff2Converter.convert(firstWoff2);
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsHitCount());
+    }
+
+    @Test
+    public void differentFontsAreNotMixedTest() throws IOException {
+        byte[] firstWoff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        byte[] secondWoff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-002.woff2"));
+        byte[] firstFont = Woff2Converter.convert(firstWoff2);
+        byte[] secondFont = Woff2Converter.convert(secondWoff2);
+        Woff2Converter.setDecodedFontsCacheSize(16 * 1024 * 1024);
+        Assertions.assertArrayEquals(firstFont, Woff2Converter.convert(firstWoff2));
+        Assertions.assertArrayEquals(secondFont, Woff2Converter.convert(secondWoff2));
+        Assertions.assertArrayEquals(firstFont, Woff2Converter.convert(firstWoff2));
+        Assertions.assertArrayEquals(secondFont, Woff2Converter.convert(secondWoff2));
+        Assertions.assertEquals(2, Woff2Converter.getDecodedFontsHitCount());
+    }
+
+    @Test
+    public void uncachedFontProgramsTest() throws IOException {
+        Woff2Converter.setDecodedFontsCacheSize(16 * 1024 * 1024);
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        FontProgram first = FontProgramFactory.createFont(woff2, false);
+        FontProgram second = FontProgramFactory.createFont(woff2, false);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, Woff2Converter.getDecodedFontsHitCount());
+    }
+
+    @Test
+    public void descriptorTablesTest() throws IOException {
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        byte[] font = Woff2Converter.convert(woff2);
+        byte[] descriptorFont = Woff2Converter.convertDescriptorTables(woff2);
+
+        Assertions.assertTrue(getTableLength(font, "glyf") > 0);
+        Assertions.assertTrue(getTableLength(font, "loca") > 0);
+        Assertions.assertEquals(0, getTableLength(descriptorFont, "glyf"));
+        Assertions.assertEquals(0, getTableLength(descriptorFont, "loca"));
+        Assertions.assertEquals(getTableLength(font, "name"), getTableLength(descriptorFont, "name"));
+        Assertions.assertEquals(getTableLength(font, "post"), getTableLength(descriptorFont, "post"));
+    }
+
+    @Test
+    public void descriptorTablesFromCacheTest() throws IOException {
+        Woff2Converter.setDecodedFontsCacheSize(16 * 1024 * 1024);
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        Assertions.assertEquals(0, getTableLength(Woff2Converter.convertDescriptorTables(woff2), "glyf"));
+        Assertions.assertEquals(0, Woff2Converter.getDecodedFontsSize());
+
+        byte[] font = Woff2Converter.convert(woff2);
+        Assertions.assertArrayEquals(font, Woff2Converter.convertDescriptorTables(woff2));
+        Assertions.assertEquals(1, Woff2Converter.getDecodedFontsHitCount());
+    }
+
+    @Test
+    public void pooledUncompressedBufferTest() throws IOException {
+        ByteArrayPool.setMaxRetainedBytes(1024 * 1024);
+        byte[] woff2 = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "validation-loca-format-001.woff2"));
+        byte[] expected = Woff2Converter.convert(woff2);
+        long reuseCount = ByteArrayPool.getReuseCount();
+        Assertions.assertArrayEquals(expected, Woff2Converter.convert(woff2));
+        Assertions.assertEquals(reuseCount + 1, ByteArrayPool.getReuseCount());
+    }
+
+    private static int getTableLength(byte[] font, String tag) {
+        int tagValue = tag.charAt(0) << 24 | tag.charAt(1) << 16 | tag.charAt(2) << 8 | tag.charAt(3);
+        int numTables = new Buffer(font, 4, 2).readShort();
+        for (int i = 0; i < numTables; ++i) {
+            // table record: tag, checksum, offset and length
+            Buffer tableRecord = new Buffer(font, 12 + 16 * i, 16);
+            if (tableRecord.readInt() == tagValue) {
+                tableRecord.skip(8);
+                return tableRecord.readInt();
+            }
+        }
+        return -1;
+    }
+}
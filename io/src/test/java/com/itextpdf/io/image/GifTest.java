@@ -31,7 +31,9 @@ import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
 
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -85,4 +87,36 @@ public class GifTest extends ExtendedITextTest {
             Assertions.assertArrayEquals(frames.get(1).getData(), framesFromUrl.get(1).getData());
         }
     }
+
+    @Test
+    public void gifImageFrameIteratorTest() throws IOException, java.io.IOException {
+        String imageFilePath = sourceFolder + "image-2frames.gif";
+        try (InputStream file = FileUtil.getInputStreamForFile(imageFilePath)) {
+            byte[] fileContent = StreamUtil.inputStreamToArray(file);
+            List<ImageData> frames = ImageDataFactory.createGifFrames(fileContent);
+
+            Iterator<ImageData> iterator = ImageDataFactory.createGifFrameIterator(fileContent);
+            for (ImageData frame : frames) {
+                Assertions.assertTrue(iterator.hasNext());
+                ImageData iterated = iterator.next();
+                Assertions.assertEquals(ImageType.GIF, iterated.getOriginalType());
+                Assertions.assertEquals(frame.getWidth(), iterated.getWidth());
+                Assertions.assertEquals(frame.getHeight(), iterated.getHeight());
+                Assertions.assertArrayEquals(frame.getData(), iterated.getData());
+            }
+            Assertions.assertFalse(iterator.hasNext());
+            Assertions.assertThrows(NoSuchElementException.class, () -> iterator.next());
+        }
+    }
+
+    @Test
+    public void gifImageFrameIteratorFromUrlTest() throws IOException, java.io.IOException {
+        Iterator<ImageData> iterator = ImageDataFactory.createGifFrameIterator(
+                UrlUtil.toURL(sourceFolder + "WP_20140410_001.gif"));
+        Assertions.assertTrue(iterator.hasNext());
+        ImageData frame = iterator.next();
+        Assertions.assertEquals(2592, (int) frame.getWidth());
+        Assertions.assertEquals(1456, (int) frame.getHeight());
+        Assertions.assertFalse(iterator.hasNext());
+    }
 }
@@ -0,0 +1,177 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.image;
+
+import com.itextpdf.io.util.FilterUtil;
+import com.itextpdf.io.util.UrlUtil;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class ImageDataCacheTest extends ExtendedITextTest {
+
+    private static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/image/PngTest/";
+
+    @BeforeEach
+    public void before() {
+        ImageDataCache.clear();
+        ImageDataCache.setPrecompressData(false);
+    }
+
+    @AfterEach
+    public void after() {
+        ImageDataCache.setMaxFootprint(0);
+        ImageDataCache.setPrecompressData(false);
+        ImageDataCache.clear();
+    }
+
+    @Test
+    public void cacheIsDisabledByDefaultTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgb8Bpc.png"));
+        Assertions.assertEquals(0, ImageDataCache.getMaxFootprint());
+        Assertions.assertNotSame(ImageDataFactory.create(bytes), ImageDataFactory.create(bytes));
+        Assertions.assertEquals(0, ImageDataCache.getMissCount());
+    }
+
+    @Test
+    public void sameBytesShareImageDataTest() throws IOException {
+        ImageDataCache.setMaxFootprint(1 << 20);
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgb8Bpc.png"));
+        ImageData first = ImageDataFactory.create(bytes);
+        ImageData second = ImageDataFactory.create(bytes.clone());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.getData(), second.getData());
+        Assertions.assertEquals(1, ImageDataCache.getHitCount());
+        Assertions.assertEquals(1, ImageDataCache.getMissCount());
+        Assertions.assertNotSame(first.getData(), ImageDataFactory.create(bytes, true).getData());
+    }
+
+    @Test
+    public void sameFileShareImageDataTest() throws IOException {
+        ImageDataCache.setMaxFootprint(1 << 20);
+        ImageData first = ImageDataFactory.create(UrlUtil.toURL(SOURCE_FOLDER + "rgb8Bpc.png"));
+        ImageData second = ImageDataFactory.create(SOURCE_FOLDER + "rgb8Bpc.png");
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.getData(), second.getData());
+        Assertions.assertEquals(1, ImageDataCache.getHitCount());
+    }
+
+    @Test
+    public void cachedImageIsNotAffectedByCallersTest() throws IOException {
+        ImageDataCache.setMaxFootprint(1 << 20);
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgb8Bpc.png"));
+        ImageData first = ImageDataFactory.create(bytes);
+        int bpc = first.getBpc();
+        String filter = first.getFilter();
+        first.setBpc(0);
+        first.setFilter("JPXDecode");
+        first.getDecodeParms().put("Test", 1);
+
+        ImageData second = ImageDataFactory.create(bytes);
+        Assertions.assertEquals(bpc, second.getBpc());
+        Assertions.assertEquals(filter, second.getFilter());
+        Assertions.assertFalse(second.getDecodeParms().containsKey("Test"));
+        Assertions.assertSame(first.getData(), second.getData());
+    }
+
+    @Test
+    public void cachedImageMaskIsNotAffectedByCallersTest() throws IOException {
+        ImageDataCache.setMaxFootprint(1 << 20);
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgba8Bpc.png"));
+        ImageData first = ImageDataFactory.create(bytes);
+        ImageData firstMask = first.getImageMask();
+        firstMask.setInterpolation(true);
+
+        ImageData second = ImageDataFactory.create(bytes);
+        Assertions.assertNotSame(firstMask, second.getImageMask());
+        Assertions.assertFalse(second.getImageMask().isInterpolation());
+        Assertions.assertSame(firstMask.getData(), second.getImageMask().getData());
+    }
+
+    @Test
+    public void cachedJpeg2000ParametersAreNotAffectedByCallersTest() throws IOException {
+        ImageDataCache.setMaxFootprint(1 << 20);
+        byte[] bytes = Files.readAllBytes(Paths.get("./src/test/resources/com/itextpdf/io/image/bee.jp2"));
+        Jpeg2000ImageData first = (Jpeg2000ImageData) ImageDataFactory.create(bytes);
+        int numOfComps = first.getParameters().numOfComps;
+        int colorSpecBoxes = first.getParameters().colorSpecBoxes.size();
+        first.getParameters().numOfComps = 0;
+        first.getParameters().colorSpecBoxes.clear();
+
+        Jpeg2000ImageData second = (Jpeg2000ImageData) ImageDataFactory.create(bytes);
+        Assertions.assertEquals(numOfComps, second.getParameters().numOfComps);
+        Assertions.assertEquals(colorSpecBoxes, second.getParameters().colorSpecBoxes.size());
+    }
+
+    @Test
+    public void negativeFootprintLimitMakesCacheUnboundedTest() throws IOException {
+        ImageDataCache.setMaxFootprint(-1);
+        byte[] rgb = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgb8Bpc.png"));
+        byte[] gray = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "grayscale8Bpc.png"));
+        ImageData rgbImage = ImageDataFactory.create(rgb);
+        ImageData grayImage = ImageDataFactory.create(gray);
+
+        Assertions.assertEquals(0, ImageDataCache.getEvictionCount());
+        Assertions.assertSame(rgbImage.getData(), ImageDataFactory.create(rgb).getData());
+        Assertions.assertSame(grayImage.getData(), ImageDataFactory.create(gray).getData());
+    }
+
+    @Test
+    public void leastRecentlyUsedImageIsEvictedTest() throws IOException {
+        byte[] rgb = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgb8Bpc.png"));
+        byte[] gray = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "grayscale8Bpc.png"));
+        ImageDataCache.setMaxFootprint(1 << 20);
+        ImageData rgbImage = ImageDataFactory.create(rgb);
+        ImageDataCache.setMaxFootprint(ImageDataCache.getFootprint());
+        ImageData grayImage = ImageDataFactory.create(gray);
+
+        Assertions.assertEquals(1, ImageDataCache.getEvictionCount());
+        Assertions.assertSame(grayImage.getData(), ImageDataFactory.create(gray).getData());
+        Assertions.assertNotSame(rgbImage.getData(), ImageDataFactory.create(rgb).getData());
+    }
+
+    @Test
+    public void precompressDataTest() throws IOException {
+        byte[] bytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "rgba8Bpc.png"));
+        ImageData expected = ImageDataFactory.create(bytes);
+        Assertions.assertNull(expected.getFilter());
+
+        ImageDataCache.setMaxFootprint(1 << 20);
+        ImageDataCache.setPrecompressData(true);
+        ImageData image = ImageDataFactory.create(bytes);
+        Assertions.assertEquals("FlateDecode", image.getFilter());
+        Assertions.assertTrue(image.isDeflated());
+        Assertions.assertArrayEquals(expected.getData(), FilterUtil.flateDecode(image.getData()));
+        Assertions.assertEquals("FlateDecode", image.getImageMask().getFilter());
+        Assertions.assertArrayEquals(expected.getImageMask().getData(),
+                FilterUtil.flateDecode(image.getImageMask().getData()));
+    }
+}
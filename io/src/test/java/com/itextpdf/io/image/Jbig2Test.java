@@ -23,12 +23,17 @@
 package com.itextpdf.io.image;
 
 import com.itextpdf.commons.utils.FileUtil;
+import com.itextpdf.io.codec.Jbig2SegmentReader;
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -48,6 +53,27 @@ public class Jbig2Test extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void testReadingJbigFromSegmentReader() throws IOException {
+        byte[] inputImage = Files.readAllBytes(Paths.get(SOURCE_FOLDER + "image.jb2"));
+        ImageData expected = ImageDataFactory.createJbig2(inputImage, 1);
+
+        Jbig2SegmentReader reader = new Jbig2SegmentReader(
+                new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(inputImage)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ImageDataFactory.createJbig2(reader, 1));
+        reader.read();
+        Assertions.assertEquals(1, reader.numberOfPages());
+        ImageData imageData = ImageDataFactory.createJbig2(reader, 1);
+        Assertions.assertEquals(expected.getWidth(), imageData.getWidth(), 0);
+        Assertions.assertEquals(expected.getHeight(), imageData.getHeight(), 0);
+        Assertions.assertEquals("JBIG2Decode", imageData.getFilter());
+        Assertions.assertArrayEquals(expected.getData(), imageData.getData());
+        Assertions.assertEquals(1, ((Jbig2ImageData) imageData).getPage());
+
+        // the same reader provides any page again
+        Assertions.assertArrayEquals(expected.getData(), ImageDataFactory.createJbig2(reader, 1).getData());
+    }
+
     @Test
     public void testReadingJbigFromUrl() throws IOException {
         ImageData imageData = ImageDataFactory.createJbig2(UrlUtil.toURL(SOURCE_FOLDER + "image.jb2"), 1);
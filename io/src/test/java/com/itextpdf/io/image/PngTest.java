@@ -27,8 +27,11 @@ import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.awt.image.Raster;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -147,6 +150,31 @@ public class PngTest extends ExtendedITextTest {
         Assertions.assertEquals(8, img.getImageMask().getBpc());
     }
 
+    @Test
+    public void rgba16BpcSplitsToSameSizeAsRgba8BpcTest() throws IOException {
+        ImageData img8 = ImageDataFactory.create(sourceFolder + "rgba8Bpc.png");
+        ImageData img16 = ImageDataFactory.create(sourceFolder + "rgba16Bpc.png");
+        Assertions.assertEquals(100 * 100 * 3, img8.getData().length);
+        Assertions.assertEquals(100 * 100 * 3, img16.getData().length);
+        Assertions.assertEquals(100 * 100, img8.getImageMask().getData().length);
+        Assertions.assertEquals(100 * 100, img16.getImageMask().getData().length);
+    }
+
+    @Test
+    public void rgba8BpcSplitContentTest() throws IOException {
+        assertSplitSamples("rgba8Bpc.png", 8);
+    }
+
+    @Test
+    public void rgba16BpcSplitContentTest() throws IOException {
+        assertSplitSamples("rgba16Bpc.png", 16);
+    }
+
+    @Test
+    public void graya8BpcSplitContentTest() throws IOException {
+        assertSplitSamples("graya8Bpc.png", 8);
+    }
+
     @Test
     // iText explicitly processes 16bit images as 8bit
     public void rgba16BpcDepthImageTest() throws IOException {
@@ -319,4 +347,29 @@ public class PngTest extends ExtendedITextTest {
             Assertions.assertEquals(0.06f, pngChromaticities.getYB(), 0.0001f);
         }
     }
+
+    // Compares color and alpha data split by iText with the samples decoded by the standard library,
+    // of which only the most significant byte is kept for 16 bit images
+    private static void assertSplitSamples(String fileName, int bitDepth) throws IOException {
+        ImageData img = ImageDataFactory.create(sourceFolder + fileName);
+        Raster raster = ImageIO.read(new File(sourceFolder + fileName)).getRaster();
+        int colorComponents = raster.getNumBands() - 1;
+        int width = raster.getWidth();
+        byte[] colorData = img.getData();
+        byte[] alphaData = img.getImageMask().getData();
+        Assertions.assertEquals(width * raster.getHeight() * colorComponents, colorData.length);
+        Assertions.assertEquals(width * raster.getHeight(), alphaData.length);
+        int[] samples = new int[raster.getNumBands()];
+        for (int y = 0; y < raster.getHeight(); y++) {
+            for (int x = 0; x < width; x++) {
+                raster.getPixel(x, y, samples);
+                int pixel = y * width + x;
+                for (int c = 0; c < colorComponents; c++) {
+                    Assertions.assertEquals(samples[c] >> (bitDepth - 8),
+                            colorData[pixel * colorComponents + c] & 0xff);
+                }
+                Assertions.assertEquals(samples[colorComponents] >> (bitDepth - 8), alphaData[pixel] & 0xff);
+            }
+        }
+    }
 }
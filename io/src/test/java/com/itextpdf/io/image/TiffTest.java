@@ -56,6 +56,36 @@ public class TiffTest extends ExtendedITextTest {
         Assertions.assertEquals(8, img.getBpc());
     }
 
+    @Test
+    public void createTiffFromRandomAccessSourceTest() throws IOException {
+        String[] files = {"group4CompressionImage.tif", "lzwCompression8BitRgb.tif"};
+        for (String file : files) {
+            byte[] imageBytes = Files.readAllBytes(Paths.get(SOURCE_FOLDER + file));
+            ImageData expected = ImageDataFactory.createTiff(imageBytes, false, 1, false);
+            RandomAccessFileOrArray raf = new RandomAccessFileOrArray(
+                    new RandomAccessSourceFactory().createBestSource(SOURCE_FOLDER + file));
+            try {
+                Assertions.assertEquals(1, TiffImageData.getNumberOfPages(raf));
+                ImageData img = ImageDataFactory.createTiff(raf, false, 1, false);
+                Assertions.assertEquals(expected.getWidth(), img.getWidth(), 0);
+                Assertions.assertEquals(expected.getHeight(), img.getHeight(), 0);
+                Assertions.assertEquals(expected.getBpc(), img.getBpc());
+                Assertions.assertArrayEquals(expected.getData(), img.getData());
+                Assertions.assertNull(((TiffImageData) img).getSource());
+            } finally {
+                raf.close();
+            }
+        }
+    }
+
+    @Test
+    public void createTiffFromNonTiffSourceTest() {
+        RandomAccessFileOrArray raf = new RandomAccessFileOrArray(
+                new RandomAccessSourceFactory().createSource(new byte[] {(byte) 'G', (byte) 'I', (byte) 'F', 0}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ImageDataFactory.createTiff(raf, false, 1, false));
+    }
+
     @Test
     public void openTiff2() throws IOException {
         // Test a more specific entry point
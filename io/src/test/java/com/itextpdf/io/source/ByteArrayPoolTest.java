@@ -0,0 +1,176 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class ByteArrayPoolTest extends ExtendedITextTest {
+
+    @BeforeEach
+    public void before() {
+        ByteArrayPool.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        ByteArrayPool.setMaxRetainedBytes(0);
+        ByteArrayPool.clear();
+    }
+
+    @Test
+    public void poolIsDisabledByDefaultTest() {
+        Assertions.assertFalse(ByteArrayPool.isEnabled());
+        byte[] buffer = ByteArrayPool.acquire(100);
+        Assertions.assertEquals(100, buffer.length);
+        ByteArrayPool.release(buffer);
+        Assertions.assertNotSame(buffer, ByteArrayPool.acquire(100));
+        Assertions.assertEquals(0, ByteArrayPool.getAcquireCount());
+        Assertions.assertEquals(0, ByteArrayPool.getRetainedBytes());
+    }
+
+    @Test
+    public void releasedArrayIsReusedTest() {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        byte[] buffer = ByteArrayPool.acquire(100);
+        Assertions.assertEquals(128, buffer.length);
+        ByteArrayPool.release(buffer);
+        Assertions.assertEquals(128, ByteArrayPool.getRetainedBytes());
+
+        Assertions.assertSame(buffer, ByteArrayPool.acquire(128));
+        Assertions.assertEquals(0, ByteArrayPool.getRetainedBytes());
+        Assertions.assertEquals(2, ByteArrayPool.getAcquireCount());
+        Assertions.assertEquals(1, ByteArrayPool.getReuseCount());
+        Assertions.assertEquals(1, ByteArrayPool.getReleaseCount());
+    }
+
+    @Test
+    public void sizeClassesAreSeparatedTest() {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        byte[] small = ByteArrayPool.acquire(200);
+        Assertions.assertEquals(256, small.length);
+        ByteArrayPool.release(small);
+
+        byte[] large = ByteArrayPool.acquire(257);
+        Assertions.assertEquals(512, large.length);
+        Assertions.assertEquals(0, ByteArrayPool.getReuseCount());
+    }
+
+    @Test
+    public void foreignAndHugeArraysAreNotPooledTest() {
+        ByteArrayPool.setMaxRetainedBytes(8 << 20);
+        ByteArrayPool.release(new byte[100]);
+        byte[] huge = ByteArrayPool.acquire((1 << 20) + 1);
+        Assertions.assertEquals((1 << 20) + 1, huge.length);
+        ByteArrayPool.release(huge);
+        Assertions.assertEquals(0, ByteArrayPool.getRetainedBytes());
+        Assertions.assertEquals(0, ByteArrayPool.getReleaseCount());
+    }
+
+    @Test
+    public void retainedBytesLimitTest() {
+        ByteArrayPool.setMaxRetainedBytes(1024);
+        byte[] first = ByteArrayPool.acquire(1024);
+        byte[] second = ByteArrayPool.acquire(1024);
+        ByteArrayPool.release(first);
+        ByteArrayPool.release(second);
+        Assertions.assertEquals(1024, ByteArrayPool.getRetainedBytes());
+        Assertions.assertEquals(1, ByteArrayPool.getReleaseCount());
+        Assertions.assertEquals(1, ByteArrayPool.getDiscardCount());
+
+        ByteArrayPool.setMaxRetainedBytes(512);
+        Assertions.assertEquals(0, ByteArrayPool.getRetainedBytes());
+    }
+
+    @Test
+    public void pooledByteArrayOutputStreamTest() throws java.io.IOException {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(16, true);
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        stream.write(data, 0, 500);
+        stream.write(data[500]);
+        stream.write(data, 501, 499);
+        Assertions.assertArrayEquals(data, stream.toByteArray());
+
+        stream.release();
+        Assertions.assertEquals(0, stream.size());
+        // the initial, the grown out and the final arrays
+        Assertions.assertEquals(128 + 512 + 1024, ByteArrayPool.getRetainedBytes());
+
+        ByteArrayOutputStream other = new ByteArrayOutputStream(1000, true);
+        Assertions.assertEquals(1, ByteArrayPool.getReuseCount());
+        other.write(data);
+        Assertions.assertArrayEquals(data, other.toByteArray());
+    }
+
+    @Test
+    public void assignedBytesAreNotReleasedTest() {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(128, true);
+        byte[] assigned = new byte[256];
+        stream.assignBytes(assigned);
+        stream.release();
+        Assertions.assertEquals(256, stream.size());
+        Assertions.assertEquals(1, ByteArrayPool.getReleaseCount());
+        Assertions.assertNotSame(assigned, ByteArrayPool.acquire(256));
+    }
+
+    @Test
+    public void pooledByteBufferTest() {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        ByteBuffer buffer = new ByteBuffer(128, true);
+        for (int i = 0; i < 300; i++) {
+            buffer.append(i);
+        }
+        Assertions.assertEquals(300, buffer.size());
+        Assertions.assertEquals(512, buffer.capacity());
+        Assertions.assertEquals((byte) 299, buffer.get(299));
+        // the grown out arrays were returned to the pool
+        Assertions.assertEquals(128 + 256, ByteArrayPool.getRetainedBytes());
+
+        buffer.release();
+        Assertions.assertTrue(buffer.isEmpty());
+        Assertions.assertEquals(128 + 256 + 512, ByteArrayPool.getRetainedBytes());
+        buffer.append("abc");
+        Assertions.assertArrayEquals(new byte[] {'a', 'b', 'c'}, buffer.toByteArray());
+    }
+
+    @Test
+    public void notPooledByteBufferReleaseTest() {
+        ByteArrayPool.setMaxRetainedBytes(1 << 20);
+        ByteBuffer buffer = new ByteBuffer(128);
+        buffer.append(1);
+        buffer.release();
+        Assertions.assertEquals(1, buffer.size());
+        Assertions.assertEquals(0, ByteArrayPool.getRetainedBytes());
+    }
+}
@@ -41,6 +41,7 @@ import com.itextpdf.io.font.otf.GlyphLine;
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.OutputStream;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.TextUtil;
@@ -77,6 +78,11 @@ public class PdfType0Font extends PdfFont {
      * The code length shall not be greater than 4.
      */
     private static final int MAX_CID_CODE_LENGTH = 4;
+    /**
+     * Minimal count of consecutive CIDs of equal width which are written as a single range to the W array.
+     */
+    private static final int MIN_WIDTHS_RANGE_LENGTH = 8;
+    private static final byte[] LOWER_CASE_HEX_DIGITS = ByteUtils.getIsoBytes("0123456789abcdef");
     private static final byte[] rotbits = {(byte) 0x80, (byte) 0x40, (byte) 0x20, (byte) 0x10, (byte) 0x08, (byte) 0x04, (byte) 0x02, (byte) 0x01};
 
     /**
@@ -96,6 +102,11 @@ public class PdfType0Font extends PdfFont {
 
     private final CMapToUnicode embeddedToUnicode;
 
+    /**
+     * Writes long runs of consecutive CIDs of equal width as ranges to the W array.
+     */
+    private boolean compactWidthsOutput = false;
+
     PdfType0Font(TrueTypeFont ttf, String cmap) {
         super();
         if (!PdfEncodings.IDENTITY_H.equals(cmap) && !PdfEncodings.IDENTITY_V.equals(cmap)) {
@@ -911,34 +922,96 @@ public class PdfType0Font extends PdfFont {
     }
 
     private PdfObject generateWidthsArray() {
+        int[] codes = new int[usedGlyphs.size()];
+        int[] widths = new int[usedGlyphs.size()];
+        int count = 0;
+        for (int code : usedGlyphs) {
+            Glyph glyph = fontProgram.getGlyphByCode(code);
+            if (glyph.getWidth() != FontProgram.DEFAULT_WIDTH) {
+                codes[count] = glyph.getCode();
+                widths[count] = glyph.getWidth();
+                ++count;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        // Consecutive CIDs are written as "c [w1 w2 ...]", if compact output is requested long runs
+        // of consecutive CIDs of equal width are written as "cFirst cLast w" instead
+        int minRangeLength = compactWidthsOutput ? MIN_WIDTHS_RANGE_LENGTH : Integer.MAX_VALUE;
         ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         OutputStream<ByteArrayOutputStream> stream = new OutputStream<>(bytes);
         stream.writeByte('[');
-        int lastNumber = -10;
-        boolean firstTime = true;
-        for (int code : usedGlyphs) {
-            Glyph glyph = fontProgram.getGlyphByCode(code);
-            if (glyph.getWidth() == FontProgram.DEFAULT_WIDTH) {
-                continue;
+        boolean listOpened = false;
+        boolean firstEntry = true;
+        int i = 0;
+        while (i < count) {
+            int runEnd = i + 1;
+            while (runEnd < count && codes[runEnd] == codes[runEnd - 1] + 1 && widths[runEnd] == widths[i]) {
+                ++runEnd;
             }
-            if (glyph.getCode() == lastNumber + 1) {
+            if (runEnd - i >= minRangeLength) {
+                if (listOpened) {
+                    stream.writeByte(']');
+                    listOpened = false;
+                } else if (!firstEntry) {
+                    stream.writeByte(' ');
+                }
+                stream.writeInteger(codes[i]);
                 stream.writeByte(' ');
+                stream.writeInteger(codes[runEnd - 1]);
+                stream.writeByte(' ');
+                stream.writeInteger(widths[i]);
+                i = runEnd;
             } else {
-                if (!firstTime) {
-                    stream.writeByte(']');
+                // The whole run is too short for a range, so its widths go to the list without rescanning it
+                if (listOpened && codes[i] == codes[i - 1] + 1) {
+                    stream.writeByte(' ');
+                } else {
+                    if (listOpened) {
+                        stream.writeByte(']');
+                    } else if (!firstEntry) {
+                        stream.writeByte(' ');
+                    }
+                    stream.writeInteger(codes[i]);
+                    stream.writeByte('[');
+                    listOpened = true;
+                }
+                stream.writeInteger(widths[i]);
+                for (++i; i < runEnd; ++i) {
+                    stream.writeByte(' ');
+                    stream.writeInteger(widths[i]);
                 }
-                firstTime = false;
-                stream.writeInteger(glyph.getCode());
-                stream.writeByte('[');
             }
-            stream.writeInteger(glyph.getWidth());
-            lastNumber = glyph.getCode();
+            firstEntry = false;
         }
-        if (stream.getCurrentPos() > 1) {
-            stream.writeString("]]");
-            return new PdfLiteral(bytes.toByteArray());
+        if (listOpened) {
+            stream.writeByte(']');
         }
-        return null;
+        stream.writeByte(']');
+        return new PdfLiteral(bytes.toByteArray());
+    }
+
+    /**
+     * Gets the state of the property.
+     *
+     * @return value of property compactWidthsOutput
+     */
+    public boolean isCompactWidthsOutput() {
+        return compactWidthsOutput;
+    }
+
+    /**
+     * Set to {@code true} to write long runs of consecutive CIDs of equal width as a single
+     * {@code cFirst cLast w} range of the W array instead of listing the width of every CID.
+     * This noticeably reduces the size of the CIDFont dictionary for monospaced fonts and
+     * for fonts with many used glyphs of the same width.
+     *
+     * @param compactWidthsOutput {@code true} to write equal widths as ranges
+     */
+    public void setCompactWidthsOutput(boolean compactWidthsOutput) {
+        this.compactWidthsOutput = compactWidthsOutput;
     }
 
     /**
@@ -947,7 +1020,8 @@ public class PdfType0Font extends PdfFont {
      * @return the stream representing this CMap or <CODE>null</CODE>
      */
     public PdfStream getToUnicode() {
-        OutputStream<ByteArrayOutputStream> stream = new OutputStream<>(new ByteArrayOutputStream());
+        PdfStream toUnicode = new PdfStream();
+        PdfOutputStream stream = toUnicode.getOutputStream();
         stream.writeString("/CIDInit /ProcSet findresource begin\n" +
                 "12 dict begin\n" +
                 "begincmap\n" +
@@ -984,20 +1058,19 @@ public class PdfType0Font extends PdfFont {
         stream.writeString("endcmap\n" +
                 "CMapName currentdict /CMap defineresource pop\n" +
                 "end end\n");
-        return new PdfStream(((ByteArrayOutputStream)stream.getOutputStream()).toByteArray());
+        return toUnicode;
     }
 
-    private int writeBfrange(OutputStream<ByteArrayOutputStream> stream, List<Glyph> range) {
+    private static int writeBfrange(OutputStream<?> stream, List<Glyph> range) {
         if (range.isEmpty()) return 0;
         stream.writeInteger(range.size());
         stream.writeString(" beginbfrange\n");
         for (Glyph glyph: range) {
-            String fromTo = CMapContentParser.toHex(glyph.getCode());
-            stream.writeString(fromTo);
-            stream.writeString(fromTo);
+            writeCMapCode(stream, glyph.getCode());
+            writeCMapCode(stream, glyph.getCode());
             stream.writeByte('<');
             for (char ch : glyph.getChars()) {
-                stream.writeString(toHex4(ch));
+                writeHex4(stream, ch);
             }
             stream.writeByte('>');
             stream.writeByte('\n');
@@ -1007,9 +1080,29 @@ public class PdfType0Font extends PdfFont {
         return 1;
     }
 
-    private static String toHex4(char ch) {
-        String s = "0000" + Integer.toHexString(ch);
-        return s.substring(s.length() - 4);
+    /**
+     * Writes the code the same way as {@link CMapContentParser#toHex(int)} formats it, without creating a string.
+     */
+    private static void writeCMapCode(OutputStream<?> stream, int code) {
+        if (code < 0x10000) {
+            stream.writeByte('<');
+            writeHex4(stream, code);
+            stream.writeByte('>');
+        } else {
+            code -= 0x10000;
+            stream.writeByte('[');
+            stream.writeByte('<');
+            writeHex4(stream, code / 0x400 + 0xd800);
+            writeHex4(stream, code % 0x400 + 0xdc00);
+            stream.writeByte('>');
+            stream.writeByte(']');
+        }
+    }
+
+    private static void writeHex4(OutputStream<?> stream, int value) {
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            stream.writeByte(LOWER_CASE_HEX_DIGITS[(value >> shift) & 0xf]);
+        }
     }
 
     private String getCompatibleUniMap(String registry) {
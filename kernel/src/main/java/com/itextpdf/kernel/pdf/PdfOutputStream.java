@@ -24,6 +24,7 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.source.ByteArrayPool;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.DeflaterOutputStream;
 import com.itextpdf.io.source.OutputStream;
@@ -282,13 +283,14 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 long beginStreamContent = getCurrentPos();
-                byte[] buf = new byte[4192];
+                byte[] buf = ByteArrayPool.acquire(4192);
                 while (true) {
                     int n = pdfStream.getInputStream().read(buf);
                     if (n <= 0)
                         break;
                     fout.write(buf, 0, n);
                 }
+                ByteArrayPool.release(buf);
                 if (def != null) {
                     def.finish();
                 }
@@ -319,7 +321,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
+                        byteArrayStream = new ByteArrayOutputStream(32, true);
                         DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -333,7 +335,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            byteArrayStream = new ByteArrayOutputStream();
+                            byteArrayStream = new ByteArrayOutputStream(32, true);
                             ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(byteArrayStream);
                             ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(byteArrayStream);
                         } else {
@@ -342,10 +344,12 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                         }
                     }
                     if (checkEncryption(pdfStream)) {
-                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream();
+                        ByteArrayOutputStream encodedStream = new ByteArrayOutputStream(32, true);
                         OutputStreamEncryption ose = crypto.getEncryptionStream(encodedStream);
                         byteArrayStream.writeTo(ose);
                         ose.finish();
+                        // only the temporary streams are pooled, the own content of the stream is kept
+                        byteArrayStream.release();
                         byteArrayStream = encodedStream;
                     }
                 } catch (IOException ioe) {
@@ -357,6 +361,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 writeBytes(PdfOutputStream.stream);
                 byteArrayStream.writeTo(this);
                 byteArrayStream.close();
+                byteArrayStream.release();
                 writeBytes(PdfOutputStream.endstream);
             }
         } catch (IOException e) {
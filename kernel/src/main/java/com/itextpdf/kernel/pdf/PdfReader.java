@@ -829,6 +829,10 @@ public class PdfReader implements Closeable {
             }
             objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
         } finally {
+            if (tokens != saveTokens) {
+                // returns the pooled token buffer, the source is just the decoded stream bytes
+                tokens.close();
+            }
             tokens = saveTokens;
         }
     }
@@ -62,14 +62,16 @@ class SmartModePdfObjectsSerializer {
 
         byte[] content = serializedCache.get(indRef);
         if (content == null) {
-            ByteBuffer bb = new ByteBuffer();
+            ByteBuffer bb = new ByteBuffer(128, true);
             int level = 100;
             try {
                 serObject(obj, bb, level, serializedCache);
+                content = bb.toByteArray();
             } catch (SelfReferenceException e) {
                 return null;
+            } finally {
+                bb.release();
             }
-            content = bb.toByteArray();
         }
         return new SerializedObjectContent(content);
     }
@@ -100,7 +102,7 @@ class SmartModePdfObjectsSerializer {
                 serializedCache.put(reference, null);
 
                 savedBb = bb;
-                bb = new ByteBuffer();
+                bb = new ByteBuffer(128, true);
                 obj = reference.getRefersTo();
             }
         }
@@ -127,6 +129,7 @@ class SmartModePdfObjectsSerializer {
         if (savedBb != null) {
             serializedCache.put(reference, bb.toByteArray());
             savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            bb.release();
         }
     }
 
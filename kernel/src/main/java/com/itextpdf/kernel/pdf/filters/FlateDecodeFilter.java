@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.util.FilterUtil;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 import com.itextpdf.kernel.exceptions.MemoryLimitsAwareException;
@@ -31,11 +32,7 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
 import com.itextpdf.kernel.pdf.PdfObject;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Handles FlateDecode filter.
@@ -50,7 +47,7 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
-        return flateDecodeInternal(in, strict, new ByteArrayOutputStream());
+        return FilterUtil.flateDecode(in, strict);
     }
 
     /**
@@ -74,12 +71,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         final int width = getNumberOrDefault(dic, PdfName.Columns, 1);
         final int colors = getNumberOrDefault(dic, PdfName.Colors, 1);
         final int bpc = getNumberOrDefault(dic, PdfName.BitsPerComponent, 8);
-        DataInputStream dataStream = new DataInputStream(new ByteArrayInputStream(in));
-        ByteArrayOutputStream fout = new ByteArrayOutputStream(in.length);
         int bytesPerPixel = colors * bpc / 8;
         int bytesPerRow = (colors * width * bpc + 7) / 8;
-        byte[] curr = new byte[bytesPerRow];
-        byte[] prior = new byte[bytesPerRow];
         if (predictor == 2) {
             if (bpc == 8) {
                 int numRows = in.length / bytesPerRow;
@@ -92,84 +85,41 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
             }
             return in;
         }
-        // Decode the (sub)image row-by-row
-        while (true) {
-            // Read the filter type byte and a row of data
-            int filter;
-            try {
-                filter = dataStream.read();
-                if (filter < 0) {
-                    return fout.toByteArray();
-                }
-                dataStream.readFully(curr, 0, bytesPerRow);
-            } catch (Exception e) {
-                return fout.toByteArray();
-            }
-
+        // Every row is prefixed with the filter type byte, an incomplete trailing row is dropped
+        int numRows = in.length / (bytesPerRow + 1);
+        byte[] out = new byte[numRows * bytesPerRow];
+        // the row above the first one is treated as zeros
+        byte[] prior = new byte[bytesPerRow];
+        int priorStart = 0;
+        // Decode the (sub)image row-by-row, in place in the output array
+        for (int row = 0; row < numRows; row++) {
+            int inStart = row * (bytesPerRow + 1);
+            int rowStart = row * bytesPerRow;
+            int filter = in[inStart] & 0xff;
+            System.arraycopy(in, inStart + 1, out, rowStart, bytesPerRow);
             switch (filter) {
                 case 0: //PNG_FILTER_NONE
                     break;
                 case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
+                    decodeSubRow(out, rowStart, bytesPerRow, bytesPerPixel);
                     break;
                 case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
-                    }
+                    decodeUpRow(out, rowStart, prior, priorStart, bytesPerRow);
                     break;
                 case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
-                    }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
-                    }
+                    decodeAverageRow(out, rowStart, prior, priorStart, bytesPerRow, bytesPerPixel);
                     break;
                 case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
-                    }
-
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte) ret;
-                    }
+                    decodePaethRow(out, rowStart, prior, priorStart, bytesPerRow, bytesPerPixel);
                     break;
                 default:
                     // Error -- unknown filter type
                     throw new PdfException(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN);
             }
-            try {
-                fout.write(curr);
-            } catch (IOException ioe) {
-                // Never happens
-                assert true : "Happens!";
-            }
-
-            // Swap curr and prior
-            byte[] tmp = prior;
-            prior = curr;
-            curr = tmp;
+            prior = out;
+            priorStart = rowStart;
         }
+        return out;
     }
 
     /**
@@ -196,15 +146,8 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
      * @return the decoded data
      */
     protected static byte[] flateDecodeInternal(byte[] in, boolean strict, ByteArrayOutputStream out) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        byte[] b = new byte[strict ? 4092 : 1];
         try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                out.write(b, 0, n);
-            }
-            zip.close();
+            FilterUtil.inflate(in, strict, out);
             out.close();
             return out.toByteArray();
         } catch (MemoryLimitsAwareException e) {
@@ -226,4 +169,54 @@ public class FlateDecodeFilter extends MemoryLimitsAwareFilter {
         }
         return result;
     }
+
+    private static void decodeSubRow(byte[] row, int start, int length, int bytesPerPixel) {
+        int end = start + length;
+        for (int i = start + bytesPerPixel; i < end; i++) {
+            row[i] += row[i - bytesPerPixel];
+        }
+    }
+
+    private static void decodeUpRow(byte[] row, int start, byte[] prior, int priorStart, int length) {
+        for (int i = 0; i < length; i++) {
+            row[start + i] += prior[priorStart + i];
+        }
+    }
+
+    private static void decodeAverageRow(byte[] row, int start, byte[] prior, int priorStart, int length,
+            int bytesPerPixel) {
+        for (int i = 0; i < bytesPerPixel; i++) {
+            row[start + i] += (byte) (prior[priorStart + i] / 2);
+        }
+        for (int i = bytesPerPixel; i < length; i++) {
+            row[start + i] += (byte) (((row[start + i - bytesPerPixel] & 0xff) + (prior[priorStart + i] & 0xff)) / 2);
+        }
+    }
+
+    private static void decodePaethRow(byte[] row, int start, byte[] prior, int priorStart, int length,
+            int bytesPerPixel) {
+        for (int i = 0; i < bytesPerPixel; i++) {
+            row[start + i] += prior[priorStart + i];
+        }
+        for (int i = bytesPerPixel; i < length; i++) {
+            int a = row[start + i - bytesPerPixel] & 0xff;
+            int b = prior[priorStart + i] & 0xff;
+            int c = prior[priorStart + i - bytesPerPixel] & 0xff;
+
+            int p = a + b - c;
+            int pa = Math.abs(p - a);
+            int pb = Math.abs(p - b);
+            int pc = Math.abs(p - c);
+
+            int ret;
+            if (pa <= pb && pa <= pc) {
+                ret = a;
+            } else if (pb <= pc) {
+                ret = b;
+            } else {
+                ret = c;
+            }
+            row[start + i] += (byte) ret;
+        }
+    }
 }
@@ -41,7 +41,13 @@ public class LZWDecodeFilter extends MemoryLimitsAwareFilter {
      * @return decoded byte[]
      */
     public static byte[] LZWDecode(byte[] in) {
-        return LZWDecodeInternal(in, new ByteArrayOutputStream());
+        com.itextpdf.io.source.ByteArrayOutputStream out = new com.itextpdf.io.source.ByteArrayOutputStream(
+                in.length, true);
+        try {
+            return LZWDecodeInternal(in, out);
+        } finally {
+            out.release();
+        }
     }
 
     /**
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.source.ByteArrayPool;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
 
@@ -33,6 +34,13 @@ import java.io.OutputStream;
  */
 public class LZWDecoder {
 
+    private static final int TABLE_SIZE = 8192;
+
+    /**
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} keeps the strings as (prefix code, last byte)
+     * pairs instead. Will be removed in next major release
+     */
+    @Deprecated
     byte stringTable[][];
     byte[] data = null;
     OutputStream uncompData;
@@ -67,8 +75,6 @@ public class LZWDecoder {
             throw new PdfException(KernelExceptionMessageConstant.LZW_FLAVOUR_NOT_SUPPORTED);
         }
 
-        initializeStringTable();
-
         this.data = data;
         this.uncompData = uncompData;
 
@@ -79,49 +85,82 @@ public class LZWDecoder {
         nextData = 0;
         nextBits = 0;
 
-        int code, oldCode = 0;
-        byte[] string;
-
-        while ((code = getNextCode()) != 257) {
-
-            if (code == 256) {
+        // The strings are kept as (prefix code, last byte) pairs instead of separate arrays,
+        // and are expanded directly into the output buffer.
+        int[] prefix = new int[TABLE_SIZE];
+        byte[] suffix = new byte[TABLE_SIZE];
+        byte[] first = new byte[TABLE_SIZE];
+        int[] length = new int[TABLE_SIZE];
+        for (int i = 0; i < 256; i++) {
+            suffix[i] = (byte) i;
+            first[i] = (byte) i;
+            length[i] = 1;
+        }
+        tableIndex = 258;
+        bitsToGet = 9;
 
-                initializeStringTable();
-                code = getNextCode();
+        byte[] buffer = ByteArrayPool.acquire(2 * TABLE_SIZE);
+        try {
+            int bufferLength = 0;
+            int code, oldCode = 0;
 
-                if (code == 257) {
-                    break;
-                }
+            while ((code = getNextCode()) != 257) {
 
-                writeString(stringTable[code]);
-                oldCode = code;
+                if (code == 256) {
 
-            } else {
+                    tableIndex = 258;
+                    bitsToGet = 9;
+                    code = getNextCode();
 
-                if (code < tableIndex) {
+                    if (code == 257) {
+                        break;
+                    }
+                    if (code > 256) {
+                        // The table is empty right after the reset, so only single byte strings are valid here
+                        throw new PdfException(KernelExceptionMessageConstant.LZW_DECODER_EXCEPTION);
+                    }
 
-                    string = stringTable[code];
+                } else if (code >= tableIndex) {
 
-                    writeString(string);
-                    addStringToTable(stringTable[oldCode], string[0]);
-                    oldCode = code;
+                    // The string for the code is being defined right now: the old string plus its first byte.
+                    // Codes beyond it are invalid, but are decoded the same way, as earlier versions did.
+                    addCodeToTable(prefix, suffix, first, length, oldCode, first[oldCode]);
+                    code = tableIndex - 1;
 
                 } else {
 
-                    string = stringTable[oldCode];
-                    string = composeString(string, string[0]);
-                    writeString(string);
-                    addStringToTable(string);
-                    oldCode = code;
+                    addCodeToTable(prefix, suffix, first, length, oldCode, first[code]);
                 }
+
+                int stringLength = length[code];
+                if (stringLength == 0) {
+                    // The code is a clear table code
+                    throw new PdfException(KernelExceptionMessageConstant.LZW_DECODER_EXCEPTION);
+                }
+                if (bufferLength + stringLength > buffer.length) {
+                    writeBuffer(buffer, bufferLength);
+                    bufferLength = 0;
+                }
+                bufferLength += stringLength;
+                for (int i = bufferLength - 1, c = code; i >= bufferLength - stringLength; i--) {
+                    buffer[i] = suffix[c];
+                    c = prefix[c];
+                }
+                oldCode = code;
             }
+            writeBuffer(buffer, bufferLength);
+        } finally {
+            ByteArrayPool.release(buffer);
         }
     }
 
-
     /**
      * Initialize the string table.
+     *
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} doesn't use the string table anymore.
+     * Will be removed in next major release
      */
+    @Deprecated
     public void initializeStringTable() {
 
         stringTable = new byte[8192][];
@@ -139,7 +178,10 @@ public class LZWDecoder {
      * Write out the string just uncompressed.
      *
      * @param string content to write to the uncompressed data
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} doesn't use the string table anymore.
+     * Will be removed in next major release
      */
+    @Deprecated
     public void writeString(byte[] string) {
         try {
             uncompData.write(string);
@@ -153,7 +195,10 @@ public class LZWDecoder {
      *
      * @param oldString stored string
      * @param newString string to be appended to the stored string
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} doesn't use the string table anymore.
+     * Will be removed in next major release
      */
+    @Deprecated
     public void addStringToTable(byte[] oldString, byte newString) {
         int length = oldString.length;
         byte[] string = new byte[length + 1];
@@ -176,7 +221,10 @@ public class LZWDecoder {
      * Add a new string to the string table.
      *
      * @param string byte[] to store in the string table
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} doesn't use the string table anymore.
+     * Will be removed in next major release
      */
+    @Deprecated
     public void addStringToTable(byte[] string) {
 
         // Add this new String to the table
@@ -197,7 +245,10 @@ public class LZWDecoder {
      * @param oldString string be appended to
      * @param newString string that is to be appended to oldString
      * @return combined string
+     * @deprecated since 9.0.0 {@link #decode(byte[], OutputStream)} doesn't use the string table anymore.
+     * Will be removed in next major release
      */
+    @Deprecated
     public byte[] composeString(byte[] oldString, byte newString) {
         int length = oldString.length;
         byte[] string = new byte[length + 1];
@@ -207,6 +258,31 @@ public class LZWDecoder {
         return string;
     }
 
+    private void addCodeToTable(int[] prefix, byte[] suffix, byte[] first, int[] length, int oldCode,
+            byte newByte) {
+        prefix[tableIndex] = oldCode;
+        suffix[tableIndex] = newByte;
+        first[tableIndex] = first[oldCode];
+        length[tableIndex] = length[oldCode] + 1;
+        tableIndex++;
+
+        if (tableIndex == 511) {
+            bitsToGet = 10;
+        } else if (tableIndex == 1023) {
+            bitsToGet = 11;
+        } else if (tableIndex == 2047) {
+            bitsToGet = 12;
+        }
+    }
+
+    private void writeBuffer(byte[] buffer, int length) {
+        try {
+            uncompData.write(buffer, 0, length);
+        } catch (IOException e) {
+            throw new PdfException(KernelExceptionMessageConstant.LZW_DECODER_EXCEPTION, e);
+        }
+    }
+
     // Returns the next 9, 10, 11 or 12 bits
 
     /**
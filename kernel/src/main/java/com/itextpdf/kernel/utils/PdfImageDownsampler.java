@@ -0,0 +1,465 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import com.itextpdf.kernel.pdf.colorspace.PdfColorSpace;
+import com.itextpdf.kernel.pdf.colorspace.PdfSpecialCs;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class for reducing the resolution of the images of a document.
+ * <p>
+ * The effective resolution of every image XObject is computed from the transformations it is drawn with in
+ * the page content streams (including nested form XObjects). Images drawn with a resolution above the threshold
+ * are resampled to the target resolution, and their streams are replaced in place, so that an image
+ * shared by several pages is processed once, for the largest size it is drawn with. Separate image XObjects with
+ * the same samples and the same image dictionary entries are resampled once as well: the XObject resources of
+ * the pages and of the nested form XObjects are pointed to a single resampled stream, so that the duplicates are
+ * not written anymore unless they are referenced from somewhere else.
+ * <p>
+ * Annotation appearance streams are not processed, so images which are used only there are neither resampled nor
+ * deduplicated.
+ * <p>
+ * Only images with 8 bits per component whose data can be decoded by the kernel filters (e.g. FlateDecode or
+ * LZWDecode, but not DCTDecode or JPXDecode) are resampled. Indexed images, image masks and images with
+ * color key masking are left as is. Resampled data is written with FlateDecode.
+ * <p>
+ * A soft mask of the same size as its image is resampled only together with the image, so that they keep the same
+ * size. If such a soft mask can't be resampled, or it has already been resampled to another size for another image
+ * which shares it, the image is left as is.
+ */
+public class PdfImageDownsampler {
+
+    private static final Set<PdfName> DECODABLE_FILTERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            PdfName.FlateDecode, PdfName.Fl, PdfName.LZWDecode, PdfName.ASCIIHexDecode, PdfName.AHx,
+            PdfName.ASCII85Decode, PdfName.A85, PdfName.RunLengthDecode)));
+
+    private final float targetDpi;
+    private final float thresholdDpi;
+    private int compressionLevel = CompressionConstants.DEFAULT_COMPRESSION;
+
+    /**
+     * Creates a new instance of {@link PdfImageDownsampler} which resamples images drawn with a resolution
+     * above one and a half times the target resolution.
+     *
+     * @param targetDpi the resolution to resample the images to
+     */
+    public PdfImageDownsampler(float targetDpi) {
+        this(targetDpi, targetDpi * 1.5f);
+    }
+
+    /**
+     * Creates a new instance of {@link PdfImageDownsampler}.
+     *
+     * @param targetDpi the resolution to resample the images to
+     * @param thresholdDpi the resolution above which the images are resampled, not less than the target one
+     */
+    public PdfImageDownsampler(float targetDpi, float thresholdDpi) {
+        if (targetDpi <= 0) {
+            throw new IllegalArgumentException("The target resolution must be positive");
+        }
+        this.targetDpi = targetDpi;
+        this.thresholdDpi = Math.max(targetDpi, thresholdDpi);
+    }
+
+    /**
+     * Sets the compression level of the resampled image streams.
+     *
+     * @param compressionLevel the compression level, see {@link CompressionConstants}
+     * @return this {@link PdfImageDownsampler} instance
+     */
+    public PdfImageDownsampler setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+        return this;
+    }
+
+    /**
+     * Resamples the images of the document which are drawn with a resolution above the threshold.
+     *
+     * @param document the document opened in stamping mode
+     * @return the number of resampled images, including soft masks
+     */
+    public int downsample(PdfDocument document) {
+        if (document == null) {
+            throw new PdfException(
+                    MessageFormatUtil.format(KernelExceptionMessageConstant.ARG_SHOULD_NOT_BE_NULL, "document"));
+        }
+        ImageResolutionListener listener = new ImageResolutionListener();
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            new PdfCanvasProcessor(listener).processPageContent(document.getPage(i));
+        }
+        // soft masks are resampled together with their images even if they are drawn themselves
+        Set<PdfStream> softMasks = Collections.newSetFromMap(new IdentityHashMap<PdfStream, Boolean>());
+        for (PdfStream image : listener.minDpi.keySet()) {
+            PdfStream softMask = image.isFlushed() ? null : image.getAsStream(PdfName.SMask);
+            if (softMask != null) {
+                softMasks.add(softMask);
+            }
+        }
+        Map<ImageContent, ImageContent> contents = new LinkedHashMap<>();
+        Map<PdfStream, PdfStream> duplicates = new IdentityHashMap<>();
+        for (Map.Entry<PdfStream, Float> entry : listener.minDpi.entrySet()) {
+            float dpi = entry.getValue();
+            PdfStream image = entry.getKey();
+            if (dpi <= thresholdDpi || image.isFlushed() || softMasks.contains(image) || !isResamplable(image)) {
+                continue;
+            }
+            ImageContent content = new ImageContent(image, dpi);
+            ImageContent original = contents.get(content);
+            if (original == null) {
+                contents.put(content, content);
+            } else {
+                original.dpi = Math.min(original.dpi, dpi);
+                duplicates.put(image, original.image);
+            }
+        }
+        int count = 0;
+        // the original and the new width and height of the soft masks resampled together with their images
+        Map<PdfStream, int[]> resampledSoftMaskSizes = new IdentityHashMap<>();
+        for (ImageContent content : contents.keySet()) {
+            PdfStream image = content.image;
+            float scale = targetDpi / content.dpi;
+            int width = image.getAsNumber(PdfName.Width).intValue();
+            int height = image.getAsNumber(PdfName.Height).intValue();
+            int newWidth = Math.max(1, Math.round(width * scale));
+            int newHeight = Math.max(1, Math.round(height * scale));
+            if (newWidth >= width && newHeight >= height) {
+                continue;
+            }
+            // the soft mask shall keep the size of its image, e.g. when it has the Matte entry, so the image
+            // is only resampled if the mask can be resampled to the same size
+            PdfStream softMask = image.getAsStream(PdfName.SMask);
+            int[] softMaskSize = softMask == null ? null : resampledSoftMaskSizes.get(softMask);
+            boolean isSoftMaskOfSameSize = softMaskSize == null
+                    ? softMask != null && isOfSameSize(softMask, width, height)
+                    : softMaskSize[0] == width && softMaskSize[1] == height;
+            if (isSoftMaskOfSameSize && softMaskSize != null
+                    && (softMaskSize[2] != newWidth || softMaskSize[3] != newHeight)) {
+                continue;
+            }
+            byte[] samples = resample(image, getNumberOfComponents(image), newWidth, newHeight);
+            if (samples == null) {
+                continue;
+            }
+            byte[] softMaskSamples = null;
+            if (isSoftMaskOfSameSize && softMaskSize == null) {
+                if (softMask.isFlushed() || !isResamplable(softMask)) {
+                    continue;
+                }
+                softMaskSamples = resample(softMask, 1, newWidth, newHeight);
+                if (softMaskSamples == null) {
+                    continue;
+                }
+            }
+            replaceSamples(image, samples, newWidth, newHeight);
+            count++;
+            if (softMaskSamples != null) {
+                replaceSamples(softMask, softMaskSamples, newWidth, newHeight);
+                resampledSoftMaskSizes.put(softMask, new int[] {width, height, newWidth, newHeight});
+                count++;
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            Set<PdfDictionary> visitedResources = Collections.newSetFromMap(
+                    new IdentityHashMap<PdfDictionary, Boolean>());
+            for (int i = 1; i <= document.getNumberOfPages(); i++) {
+                replaceDuplicates(document.getPage(i).getResources().getPdfObject(), duplicates, visitedResources);
+            }
+        }
+        return count;
+    }
+
+    // Returns the resampled samples or null if the samples of the image are missing.
+    private static byte[] resample(PdfStream image, int components, int newWidth, int newHeight) {
+        int width = image.getAsNumber(PdfName.Width).intValue();
+        int height = image.getAsNumber(PdfName.Height).intValue();
+        if (components <= 0) {
+            return null;
+        }
+        byte[] samples = image.getBytes();
+        if (samples.length < width * height * components) {
+            return null;
+        }
+        return resample(samples, width, height, components, newWidth, newHeight);
+    }
+
+    private void replaceSamples(PdfStream image, byte[] samples, int newWidth, int newHeight) {
+        image.setData(samples);
+        image.remove(PdfName.Filter);
+        image.remove(PdfName.DecodeParms);
+        image.put(PdfName.Width, new PdfNumber(newWidth));
+        image.put(PdfName.Height, new PdfNumber(newHeight));
+        image.setCompressionLevel(compressionLevel);
+        image.setModified();
+    }
+
+    private static void replaceDuplicates(PdfDictionary resources, Map<PdfStream, PdfStream> duplicates,
+            Set<PdfDictionary> visitedResources) {
+        if (resources == null || !visitedResources.add(resources)) {
+            return;
+        }
+        PdfDictionary xObjects = resources.getAsDictionary(PdfName.XObject);
+        if (xObjects == null) {
+            return;
+        }
+        for (PdfName name : xObjects.keySet()) {
+            PdfStream xObject = xObjects.getAsStream(name);
+            if (xObject == null) {
+                continue;
+            }
+            PdfStream original = duplicates.get(xObject);
+            if (original != null) {
+                xObjects.put(name, original);
+                xObjects.setModified();
+            } else if (PdfName.Form.equals(xObject.getAsName(PdfName.Subtype))) {
+                replaceDuplicates(xObject.getAsDictionary(PdfName.Resources), duplicates, visitedResources);
+            }
+        }
+    }
+
+    private static boolean isResamplable(PdfStream image) {
+        PdfNumber bpc = image.getAsNumber(PdfName.BitsPerComponent);
+        if (image.getAsNumber(PdfName.Width) == null || image.getAsNumber(PdfName.Height) == null
+                || bpc == null || bpc.intValue() != 8) {
+            return false;
+        }
+        // averaging breaks stencil masks and color key masking
+        if (Boolean.TRUE.equals(image.getAsBool(PdfName.ImageMask)) || image.get(PdfName.Mask) instanceof PdfArray) {
+            return false;
+        }
+        PdfObject filter = image.get(PdfName.Filter);
+        if (filter instanceof PdfName) {
+            return DECODABLE_FILTERS.contains(filter);
+        }
+        if (filter instanceof PdfArray) {
+            for (PdfObject filterName : (PdfArray) filter) {
+                if (!DECODABLE_FILTERS.contains(filterName)) {
+                    return false;
+                }
+            }
+        }
+        return filter == null || filter instanceof PdfArray;
+    }
+
+    private static boolean isOfSameSize(PdfStream softMask, int width, int height) {
+        PdfNumber maskWidth = softMask.getAsNumber(PdfName.Width);
+        PdfNumber maskHeight = softMask.getAsNumber(PdfName.Height);
+        return maskWidth != null && maskHeight != null
+                && maskWidth.intValue() == width && maskHeight.intValue() == height;
+    }
+
+    // Two direct objects are the same if they have the same content, two indirect ones only if they are the same object.
+    private static boolean isSameObject(PdfObject object, PdfObject other) {
+        if (object == other) {
+            return true;
+        }
+        if (object == null || other == null || object.isIndirect() || other.isIndirect()
+                || object.getType() != other.getType()) {
+            return false;
+        }
+        if (object.isArray()) {
+            PdfArray array = (PdfArray) object;
+            PdfArray otherArray = (PdfArray) other;
+            if (array.size() != otherArray.size()) {
+                return false;
+            }
+            for (int i = 0; i < array.size(); i++) {
+                if (!isSameObject(array.get(i), otherArray.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (object.isDictionary()) {
+            return haveSameEntries((PdfDictionary) object, (PdfDictionary) other, Collections.<PdfName>emptySet());
+        }
+        return object.equals(other);
+    }
+
+    private static boolean haveSameEntries(PdfDictionary dictionary, PdfDictionary other, Set<PdfName> ignoredKeys) {
+        Set<PdfName> keys = new HashSet<>(dictionary.keySet());
+        keys.removeAll(ignoredKeys);
+        Set<PdfName> otherKeys = new HashSet<>(other.keySet());
+        otherKeys.removeAll(ignoredKeys);
+        if (!keys.equals(otherKeys)) {
+            return false;
+        }
+        for (PdfName key : keys) {
+            if (!isSameObject(dictionary.get(key), other.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getNumberOfComponents(PdfStream image) {
+        PdfObject colorSpace = image.get(PdfName.ColorSpace);
+        if (colorSpace == null) {
+            return 0;
+        }
+        PdfColorSpace cs = PdfColorSpace.makeColorSpace(colorSpace);
+        if (cs == null || cs instanceof PdfSpecialCs.Indexed || cs instanceof PdfSpecialCs.Pattern) {
+            return 0;
+        }
+        return cs.getNumberOfComponents();
+    }
+
+    // Box filter: every sample of the new image is the average of the samples of the area it covers.
+    private static byte[] resample(byte[] samples, int width, int height, int components,
+            int newWidth, int newHeight) {
+        byte[] result = new byte[newWidth * newHeight * components];
+        long[] sums = new long[newWidth * components];
+        int[] counts = new int[newWidth];
+        int[] columnStarts = new int[newWidth + 1];
+        for (int x = 0; x <= newWidth; x++) {
+            columnStarts[x] = (int) ((long) x * width / newWidth);
+        }
+        for (int y = 0; y < newHeight; y++) {
+            int rowStart = (int) ((long) y * height / newHeight);
+            int rowEnd = Math.max(rowStart + 1, (int) ((long) (y + 1) * height / newHeight));
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+            for (int sy = rowStart; sy < rowEnd; sy++) {
+                int row = sy * width * components;
+                for (int x = 0; x < newWidth; x++) {
+                    int columnEnd = Math.max(columnStarts[x] + 1, columnStarts[x + 1]);
+                    for (int sx = columnStarts[x]; sx < columnEnd; sx++) {
+                        int sample = row + sx * components;
+                        for (int c = 0; c < components; c++) {
+                            sums[x * components + c] += samples[sample + c] & 0xff;
+                        }
+                    }
+                    counts[x] += columnEnd - columnStarts[x];
+                }
+            }
+            int offset = y * newWidth * components;
+            for (int x = 0; x < newWidth; x++) {
+                for (int c = 0; c < components; c++) {
+                    result[offset + x * components + c] =
+                            (byte) ((sums[x * components + c] + counts[x] / 2) / counts[x]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class ImageContent {
+        // the entries describing the encoding of the samples, which are compared decoded
+        private static final Set<PdfName> ENCODING_KEYS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+                PdfName.Length, PdfName.Filter, PdfName.DecodeParms)));
+
+        private final PdfStream image;
+        private final int hash;
+        private float dpi;
+
+        // Only the hash of the samples is kept, so that the decoded samples of all the images of the document
+        // are not held in memory at once; they are decoded again to be compared on a hash match.
+        ImageContent(PdfStream image, float dpi) {
+            this.image = image;
+            this.dpi = dpi;
+            this.hash = Arrays.hashCode(image.getBytes());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ImageContent other = (ImageContent) o;
+            return hash == other.hash && haveSameEntries(image, other.image, ENCODING_KEYS)
+                    && Arrays.equals(image.getBytes(), other.image.getBytes());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class ImageResolutionListener implements IEventListener {
+        // The lowest resolution every image is drawn with. Images are distinguished by identity, as the
+        // same image XObject is represented by the same stream instance wherever it is used.
+        private final Map<PdfStream, Float> minDpi = new IdentityHashMap<>();
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            ImageRenderInfo renderInfo = (ImageRenderInfo) data;
+            if (renderInfo.isInline()) {
+                return;
+            }
+            PdfStream image = renderInfo.getImage().getPdfObject();
+            PdfNumber width = image.getAsNumber(PdfName.Width);
+            PdfNumber height = image.getAsNumber(PdfName.Height);
+            if (width == null || height == null) {
+                return;
+            }
+            Matrix ctm = renderInfo.getImageCtm();
+            double renderedWidth = Math.sqrt(ctm.get(Matrix.I11) * ctm.get(Matrix.I11)
+                    + ctm.get(Matrix.I12) * ctm.get(Matrix.I12));
+            double renderedHeight = Math.sqrt(ctm.get(Matrix.I21) * ctm.get(Matrix.I21)
+                    + ctm.get(Matrix.I22) * ctm.get(Matrix.I22));
+            if (renderedWidth == 0 || renderedHeight == 0) {
+                // an invisible usage doesn't restrict the resolution
+                return;
+            }
+            float dpi = (float) Math.min(width.intValue() * 72 / renderedWidth,
+                    height.intValue() * 72 / renderedHeight);
+            Float knownDpi = minDpi.get(image);
+            if (knownDpi == null || dpi < knownDpi) {
+                minDpi.put(image, dpi);
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return Collections.singleton(EventType.RENDER_IMAGE);
+        }
+    }
+}
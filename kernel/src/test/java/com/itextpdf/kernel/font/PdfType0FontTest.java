@@ -32,11 +32,15 @@ import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.*;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -162,4 +166,100 @@ public class PdfType0FontTest extends ExtendedITextTest {
         Assertions.assertArrayEquals(expected, result);
     }
 
+
+    @Test
+    public void compactWidthsOutputTest() throws IOException {
+        String digits = "0123456789";
+        PdfArray widths = writeAndReadWidths(digits, true);
+        // Tabular digits of the font are written as a single "cFirst cLast w" range
+        Assertions.assertEquals(3, widths.size());
+        TrueTypeFont ttf = new TrueTypeFont(SOURCE_FOLDER + "NotoSerif-Regular_v1.7.ttf");
+        Assertions.assertEquals(ttf.getGlyph('0').getCode(), widths.getAsNumber(0).intValue());
+        Assertions.assertEquals(ttf.getGlyph('9').getCode(), widths.getAsNumber(1).intValue());
+        Assertions.assertEquals(ttf.getGlyph('0').getWidth(), widths.getAsNumber(2).intValue());
+
+        PdfArray defaultWidths = writeAndReadWidths(digits, false);
+        Assertions.assertEquals(2, defaultWidths.size());
+        Assertions.assertEquals(10, defaultWidths.getAsArray(1).size());
+    }
+
+    @Test
+    public void compactWidthsOutputMixedWithListsTest() throws IOException {
+        String text = "ABC0123456789abc";
+        PdfArray compactWidths = writeAndReadWidths(text, true);
+        PdfArray defaultWidths = writeAndReadWidths(text, false);
+
+        Assertions.assertEquals(expandWidths(defaultWidths), expandWidths(compactWidths));
+        Assertions.assertTrue(compactWidths.toString().length() < defaultWidths.toString().length());
+    }
+
+    @Test
+    public void longRunOfEqualWidthsWithoutCompactOutputTest() throws IOException {
+        TrueTypeFont monospacedFont = new TrueTypeFont(SOURCE_FOLDER + "NotoSerif-Regular_v1.7.ttf") {
+            @Override
+            public Glyph getGlyphByCode(int charCode) {
+                Glyph glyph = super.getGlyphByCode(charCode);
+                return glyph == null ? null : new Glyph(glyph.getCode(), 600, glyph.getUnicode());
+            }
+        };
+        PdfType0Font font = new PdfType0Font(monospacedFont, PdfEncodings.IDENTITY_H);
+        int glyphsCount = 0;
+        while (monospacedFont.getGlyphByCode(glyphsCount + 1) != null) {
+            font.usedGlyphs.add(++glyphsCount);
+        }
+        Assertions.assertTrue(glyphsCount > 1000);
+
+        PdfArray widths = writeAndReadWidths(font);
+        // All the used CIDs are consecutive, so they are written as a single list
+        Assertions.assertEquals(2, widths.size());
+        Assertions.assertEquals(1, widths.getAsNumber(0).intValue());
+        PdfArray list = widths.getAsArray(1);
+        Assertions.assertEquals(glyphsCount, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals(600, list.getAsNumber(i).intValue());
+        }
+    }
+
+    private static PdfArray writeAndReadWidths(String text, boolean compactWidthsOutput) throws IOException {
+        PdfType0Font font = (PdfType0Font) PdfFontFactory.createFont(
+                SOURCE_FOLDER + "NotoSerif-Regular_v1.7.ttf", PdfEncodings.IDENTITY_H);
+        font.setCompactWidthsOutput(compactWidthsOutput);
+        Assertions.assertEquals(compactWidthsOutput, font.isCompactWidthsOutput());
+        font.convertToBytes(text);
+        return writeAndReadWidths(font);
+    }
+
+    private static PdfArray writeAndReadWidths(PdfType0Font font) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos))) {
+            pdfDoc.addNewPage().getResources().addFont(pdfDoc, font);
+        }
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())))) {
+            PdfDictionary fonts = pdfDoc.getPage(1).getResources().getResource(PdfName.Font);
+            PdfDictionary fontDict = fonts.getAsDictionary(fonts.keySet().iterator().next());
+            return fontDict.getAsArray(PdfName.DescendantFonts).getAsDictionary(0).getAsArray(PdfName.W);
+        }
+    }
+
+    private static Map<Integer, Integer> expandWidths(PdfArray widths) {
+        Map<Integer, Integer> result = new TreeMap<>();
+        int i = 0;
+        while (i < widths.size()) {
+            int first = widths.getAsNumber(i).intValue();
+            if (widths.get(i + 1).isArray()) {
+                PdfArray list = widths.getAsArray(i + 1);
+                for (int k = 0; k < list.size(); k++) {
+                    result.put(first + k, list.getAsNumber(k).intValue());
+                }
+                i += 2;
+            } else {
+                int last = widths.getAsNumber(i + 1).intValue();
+                for (int cid = first; cid <= last; cid++) {
+                    result.put(cid, widths.getAsNumber(i + 2).intValue());
+                }
+                i += 3;
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,136 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class FlateDecodeFilterTest extends ExtendedITextTest {
+
+    @Test
+    public void decodePngPredictorRowsTest() {
+        // 2 pixels per row, 2 colors per pixel: none, sub, up, average and paeth filtered rows
+        byte[] in = {
+                0, 10, 20, 30, 40,
+                1, 1, 2, 3, 4,
+                2, 1, 1, 1, 1,
+                3, 5, 5, 5, 5,
+                4, 1, 2, 3, 4
+        };
+        byte[] expected = {
+                10, 20, 30, 40,
+                1, 2, 4, 6,
+                2, 3, 5, 7,
+                6, 6, 10, 11,
+                7, 8, 13, 15
+        };
+        Assertions.assertArrayEquals(expected, FlateDecodeFilter.decodePredictor(in, createPredictorParams(15, 2, 2)));
+    }
+
+    @Test
+    public void decodePngPredictorIncompleteRowTest() {
+        byte[] in = {
+                2, 1, 2, 3,
+                2, 1, 1, 1,
+                2, 5
+        };
+        byte[] expected = {
+                1, 2, 3,
+                2, 3, 4
+        };
+        Assertions.assertArrayEquals(expected, FlateDecodeFilter.decodePredictor(in, createPredictorParams(12, 3, 1)));
+    }
+
+    @Test
+    public void decodePngPredictorUnknownFilterTest() {
+        byte[] in = {2, 1, 2, 3, 7, 1, 1, 1};
+        PdfDictionary decodeParams = createPredictorParams(12, 3, 1);
+        Exception e = Assertions.assertThrows(PdfException.class,
+                () -> FlateDecodeFilter.decodePredictor(in, decodeParams));
+        Assertions.assertEquals(KernelExceptionMessageConstant.PNG_FILTER_UNKNOWN, e.getMessage());
+    }
+
+    @Test
+    public void decodeTiffPredictorTest() {
+        byte[] in = {1, 1, 1, 2, 2, 2};
+        byte[] expected = {1, 2, 3, 2, 4, 6};
+        Assertions.assertArrayEquals(expected, FlateDecodeFilter.decodePredictor(in, createPredictorParams(2, 3, 1)));
+    }
+
+    @Test
+    public void flateDecodeTest() throws IOException {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        byte[] deflated = deflate(data);
+        Assertions.assertArrayEquals(data, FlateDecodeFilter.flateDecode(deflated, true));
+        // the decoder is reused by the following calls, so it must not keep any state
+        Assertions.assertArrayEquals(data, FlateDecodeFilter.flateDecode(deflated, true));
+        Assertions.assertArrayEquals(data, new FlateDecodeFilter().decode(deflated, PdfName.FlateDecode,
+                new PdfDictionary(), new PdfDictionary()));
+    }
+
+    @Test
+    public void flateDecodeTruncatedStreamTest() throws IOException {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        byte[] truncated = Arrays.copyOf(deflate(data), 100);
+
+        Assertions.assertNull(FlateDecodeFilter.flateDecode(truncated, true));
+        byte[] recovered = FlateDecodeFilter.flateDecode(truncated, false);
+        Assertions.assertTrue(recovered.length > 0);
+        Assertions.assertArrayEquals(Arrays.copyOf(data, recovered.length), recovered);
+    }
+
+    private static PdfDictionary createPredictorParams(int predictor, int columns, int colors) {
+        PdfDictionary decodeParams = new PdfDictionary();
+        decodeParams.put(PdfName.Predictor, new PdfNumber(predictor));
+        decodeParams.put(PdfName.Columns, new PdfNumber(columns));
+        decodeParams.put(PdfName.Colors, new PdfNumber(colors));
+        return decodeParams;
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream zip = new DeflaterOutputStream(out)) {
+            zip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -22,9 +22,14 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.codec.LZWCompressor;
+import com.itextpdf.kernel.exceptions.KernelExceptionMessageConstant;
+import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.test.ExtendedITextTest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
@@ -52,4 +57,36 @@ public class LZWDecodeFilterTest extends ExtendedITextTest {
         Assertions.assertEquals(expectedResult, decoded);
     }
 
+    @Test
+    public void decodingLargeDataTest() throws IOException {
+        // long enough to grow the codes to 12 bits and to reset the string table several times
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ((i * 31 + i / 97) % 61);
+        }
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        LZWCompressor compressor = new LZWCompressor(encoded, 8, true);
+        compressor.compress(data, 0, data.length);
+        compressor.flush();
+
+        Assertions.assertArrayEquals(data, LZWDecodeFilter.LZWDecode(encoded.toByteArray()));
+    }
+
+    @Test
+    public void decodingCodeBeyondTableIndexTest() {
+        // clear table code, 'A', the code 300 instead of the next one 258 and end of data
+        byte[] bytes = {(byte) 0x80, 0x10, 0x65, (byte) 0x90, 0x10};
+
+        // the undefined code is decoded as the old string plus its first byte, as earlier versions did
+        Assertions.assertEquals("AAA", new String(LZWDecodeFilter.LZWDecode(bytes)));
+    }
+
+    @Test
+    public void decodingUndefinedCodeAfterClearTableTest() {
+        // clear table code followed by the code 300, which is not defined yet
+        byte[] bytes = {(byte) 0x80, 0x4B, 0x00};
+
+        Exception e = Assertions.assertThrows(PdfException.class, () -> LZWDecodeFilter.LZWDecode(bytes));
+        Assertions.assertEquals(KernelExceptionMessageConstant.LZW_DECODER_EXCEPTION, e.getMessage());
+    }
 }
@@ -0,0 +1,295 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfBoolean;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("IntegrationTest")
+public class PdfImageDownsamplerTest extends ExtendedITextTest {
+
+    @Test
+    public void downsampleSharedImageTest() throws IOException {
+        // 400 px drawn at 100 pt and 200 pt, i.e. with 288 and 144 dpi
+        byte[] pdf = createDocument(ImageDataFactory.create(400, 400, 3, 8, createSamples(400, 400, 3), null),
+                new float[] {100, 200});
+
+        byte[] result = downsample(pdf, new PdfImageDownsampler(72), 1);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream first = getImage(document, 1);
+            PdfStream second = getImage(document, 2);
+            Assertions.assertSame(first, second);
+            // the larger usage defines the resolution
+            Assertions.assertEquals(200, first.getAsNumber(PdfName.Width).intValue());
+            Assertions.assertEquals(200, first.getAsNumber(PdfName.Height).intValue());
+            byte[] samples = first.getBytes();
+            Assertions.assertEquals(200 * 200 * 3, samples.length);
+            // every sample is the average of a 2x2 block of the original
+            byte[] original = createSamples(400, 400, 3);
+            int expected = ((original[0] & 0xff) + (original[3] & 0xff)
+                    + (original[400 * 3] & 0xff) + (original[400 * 3 + 3] & 0xff) + 2) / 4;
+            Assertions.assertEquals(expected, samples[0] & 0xff);
+        }
+    }
+
+    @Test
+    public void imageBelowThresholdIsNotChangedTest() throws IOException {
+        byte[] pdf = createDocument(ImageDataFactory.create(100, 100, 1, 8, createSamples(100, 100, 1), null),
+                new float[] {100});
+
+        byte[] result = downsample(pdf, new PdfImageDownsampler(72, 100), 0);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            Assertions.assertEquals(100, getImage(document, 1).getAsNumber(PdfName.Width).intValue());
+        }
+    }
+
+    @Test
+    public void softMaskIsResampledWithItsImageTest() throws IOException {
+        ImageData mask = ImageDataFactory.create(300, 300, 1, 8, createSamples(300, 300, 1), null);
+        mask.makeMask();
+        ImageData image = ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null);
+        image.setImageMask(mask);
+        byte[] pdf = createDocument(image, new float[] {72});
+
+        byte[] result = downsample(pdf, new PdfImageDownsampler(100), 2);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream resampled = getImage(document, 1);
+            Assertions.assertEquals(100, resampled.getAsNumber(PdfName.Width).intValue());
+            Assertions.assertEquals(100, resampled.getAsStream(PdfName.SMask).getAsNumber(PdfName.Width).intValue());
+            Assertions.assertEquals(100 * 100, resampled.getAsStream(PdfName.SMask).getBytes().length);
+        }
+    }
+
+    @Test
+    public void sharedSoftMaskIsResampledOnceTest() throws IOException {
+        ImageData mask = ImageDataFactory.create(300, 300, 1, 8, createSamples(300, 300, 1), null);
+        mask.makeMask();
+        ImageData image = ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null);
+        image.setImageMask(mask);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject first = new PdfImageXObject(image);
+            byte[] otherSamples = createSamples(300, 300, 3);
+            otherSamples[0]++;
+            PdfImageXObject second = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, otherSamples, null));
+            second.put(PdfName.SMask, first.getPdfObject().get(PdfName.SMask));
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(first, new Rectangle(36, 36, 72, 72));
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(second, new Rectangle(36, 36, 72, 72));
+        }
+
+        // two images and their common soft mask
+        byte[] result = downsample(baos.toByteArray(), new PdfImageDownsampler(100), 3);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream firstImage = getImage(document, 1);
+            PdfStream secondImage = getImage(document, 2);
+            Assertions.assertNotSame(firstImage, secondImage);
+            Assertions.assertSame(firstImage.getAsStream(PdfName.SMask), secondImage.getAsStream(PdfName.SMask));
+            Assertions.assertEquals(100, secondImage.getAsNumber(PdfName.Width).intValue());
+            PdfStream softMask = firstImage.getAsStream(PdfName.SMask);
+            Assertions.assertEquals(100, softMask.getAsNumber(PdfName.Width).intValue());
+            Assertions.assertEquals(100, softMask.getAsNumber(PdfName.Height).intValue());
+            Assertions.assertEquals(100 * 100, softMask.getBytes().length);
+        }
+    }
+
+    @Test
+    public void sharedSoftMaskDrawnAtDifferentResolutionsTest() throws IOException {
+        ImageData mask = ImageDataFactory.create(300, 300, 1, 8, createSamples(300, 300, 1), null);
+        mask.makeMask();
+        ImageData image = ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null);
+        image.setImageMask(mask);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject first = new PdfImageXObject(image);
+            byte[] otherSamples = createSamples(300, 300, 3);
+            otherSamples[0]++;
+            PdfImageXObject second = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, otherSamples, null));
+            second.put(PdfName.SMask, first.getPdfObject().get(PdfName.SMask));
+            // 300 and 200 dpi, i.e. 100 and 150 px at the target resolution
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(first, new Rectangle(36, 36, 72, 72));
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(second,
+                    new Rectangle(36, 36, 108, 108));
+        }
+
+        // only one of the images is resampled together with the common soft mask
+        byte[] result = downsample(baos.toByteArray(), new PdfImageDownsampler(100), 2);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream firstImage = getImage(document, 1);
+            PdfStream secondImage = getImage(document, 2);
+            PdfStream softMask = firstImage.getAsStream(PdfName.SMask);
+            Assertions.assertSame(softMask, secondImage.getAsStream(PdfName.SMask));
+            int firstWidth = firstImage.getAsNumber(PdfName.Width).intValue();
+            int secondWidth = secondImage.getAsNumber(PdfName.Width).intValue();
+            int softMaskWidth = softMask.getAsNumber(PdfName.Width).intValue();
+            Assertions.assertTrue(firstWidth == 100 && secondWidth == 300 || firstWidth == 300 && secondWidth == 150);
+            Assertions.assertEquals(Math.min(firstWidth, secondWidth), softMaskWidth);
+            Assertions.assertEquals(softMaskWidth, softMask.getAsNumber(PdfName.Height).intValue());
+        }
+    }
+
+    @Test
+    public void imageWithNotResamplableSoftMaskIsNotChangedTest() throws IOException {
+        ImageData mask = ImageDataFactory.create(300, 300, 1, 8, createSamples(300, 300, 1), null);
+        mask.makeMask();
+        ImageData image = ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null);
+        image.setImageMask(mask);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject xObject = new PdfImageXObject(image);
+            xObject.getPdfObject().getAsStream(PdfName.SMask).put(PdfName.BitsPerComponent, new PdfNumber(16));
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(xObject,
+                    new Rectangle(36, 36, 72, 72));
+        }
+
+        byte[] result = downsample(baos.toByteArray(), new PdfImageDownsampler(100), 0);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream resampled = getImage(document, 1);
+            Assertions.assertEquals(300, resampled.getAsNumber(PdfName.Width).intValue());
+            Assertions.assertEquals(300, resampled.getAsStream(PdfName.SMask).getAsNumber(PdfName.Width).intValue());
+        }
+    }
+
+    @Test
+    public void duplicateImagesAreResampledOnceTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject first = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null));
+            PdfImageXObject second = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null));
+            Assertions.assertNotSame(first.getPdfObject(), second.getPdfObject());
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(first, new Rectangle(36, 36, 72, 72));
+            // the duplicate is drawn larger and from a nested form XObject
+            PdfFormXObject form = new PdfFormXObject(new Rectangle(108, 108));
+            new PdfCanvas(form, document).addXObjectFittedIntoRectangle(second, new Rectangle(0, 0, 108, 108));
+            new PdfCanvas(document.addNewPage()).addXObjectAt(form, 36, 36);
+        }
+
+        byte[] result = downsample(baos.toByteArray(), new PdfImageDownsampler(100), 1);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            PdfStream firstImage = getImage(document, 1);
+            PdfStream form = getImage(document, 2);
+            PdfDictionary formXObjects = form.getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.XObject);
+            PdfStream secondImage = formXObjects.getAsStream(formXObjects.keySet().iterator().next());
+            Assertions.assertSame(firstImage, secondImage);
+            // the larger usage defines the resolution
+            Assertions.assertEquals(150, firstImage.getAsNumber(PdfName.Width).intValue());
+            int images = 0;
+            for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+                PdfObject object = document.getPdfObject(i);
+                if (object instanceof PdfStream && PdfName.Image.equals(((PdfStream) object).get(PdfName.Subtype))) {
+                    images++;
+                }
+            }
+            Assertions.assertEquals(1, images);
+        }
+    }
+
+    @Test
+    public void imagesWithDifferentEntriesAreNotMergedTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject first = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null));
+            PdfImageXObject second = new PdfImageXObject(
+                    ImageDataFactory.create(300, 300, 3, 8, createSamples(300, 300, 3), null));
+            second.put(PdfName.Interpolate, PdfBoolean.TRUE);
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(first, new Rectangle(36, 36, 72, 72));
+            new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(second, new Rectangle(36, 36, 72, 72));
+        }
+
+        byte[] result = downsample(baos.toByteArray(), new PdfImageDownsampler(100), 2);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(result)))) {
+            Assertions.assertNotSame(getImage(document, 1), getImage(document, 2));
+        }
+    }
+
+    private static byte[] downsample(byte[] pdf, PdfImageDownsampler downsampler, int expectedCount)
+            throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)),
+                new PdfWriter(baos))) {
+            Assertions.assertEquals(expectedCount, downsampler.downsample(document));
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] createDocument(ImageData image, float[] sizes) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (PdfDocument document = new PdfDocument(new PdfWriter(baos))) {
+            PdfImageXObject xObject = new PdfImageXObject(image);
+            for (float size : sizes) {
+                new PdfCanvas(document.addNewPage()).addXObjectFittedIntoRectangle(xObject,
+                        new Rectangle(36, 36, size, size));
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static PdfStream getImage(PdfDocument document, int page) {
+        PdfStream image = null;
+        for (PdfName name : document.getPage(page).getResources().getResourceNames(PdfName.XObject)) {
+            image = document.getPage(page).getResources().getResource(PdfName.XObject).getAsStream(name);
+        }
+        return image;
+    }
+
+    private static byte[] createSamples(int width, int height, int components) {
+        byte[] samples = new byte[width * height * components];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (byte) (i * 31 % 251);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.canvas.CanvasArtifact;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import com.itextpdf.layout.renderer.AbstractRenderer;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper which lays out a block element only once for a given width and then reuses it as
+ * a {@link PdfFormXObject}, which can be drawn as many times as needed.
+ * <p>
+ * Headers, footers, address blocks and other content which is structurally identical each time it is drawn
+ * could be laid out once with this class instead of building and laying out a new element tree each time.
+ * Parts of the template which differ from one drawing to another are declared as slots: block elements
+ * inside the template element which reserve an area for the substituted text. The own content of a slot
+ * element (background, borders, text) is drawn as a part of the template, so slot elements are usually left
+ * empty and sized with the width and height properties. The substituted text is laid out within the inner
+ * area of the slot and inherits the properties of the slot element, such as font, font size and font color.
+ * <p>
+ * Neither the content of the template nor the slot texts are tagged: in a tagged document they are drawn
+ * as an artifact, so the template is only suitable for pagination artifacts such as running headers and footers.
+ * The template can only be drawn on the canvases of the document it was created for.
+ */
+public class LayoutTemplate {
+
+    // the template is first laid out in the area of the default page height, which is grown only if needed
+    private static final float MAX_TEMPLATE_HEIGHT = 1e6f;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LayoutTemplate.class);
+
+    private final PdfDocument pdfDocument;
+    private final IRenderer templateRenderer;
+    private final PdfFormXObject formXObject;
+    private final Map<String, IRenderer> slots = new HashMap<>();
+
+    /**
+     * Creates a new template by laying out the element within the given width and drawing it
+     * into a {@link PdfFormXObject}.
+     *
+     * @param element the element to be laid out
+     * @param width the available width for the element
+     * @param pdfDocument the document the template will be drawn in
+     */
+    public LayoutTemplate(IBlockElement element, float width, PdfDocument pdfDocument) {
+        this.pdfDocument = pdfDocument;
+        this.formXObject = new PdfFormXObject(new Rectangle(width, 0));
+        try (final Canvas canvas = new Canvas(formXObject, pdfDocument)) {
+            float height = Math.min(pdfDocument.getDefaultPageSize().getHeight(), MAX_TEMPLATE_HEIGHT);
+            IRenderer renderer = element.createRendererSubTree().setParent(canvas.getRenderer());
+            LayoutResult result = renderer.layout(
+                    new LayoutContext(new LayoutArea(1, new Rectangle(0, 0, width, height))));
+            while (result.getStatus() != LayoutResult.FULL && height < MAX_TEMPLATE_HEIGHT) {
+                height = Math.min(height * 2, MAX_TEMPLATE_HEIGHT);
+                renderer = element.createRendererSubTree().setParent(canvas.getRenderer());
+                result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(0, 0, width, height))));
+            }
+            if (result.getStatus() != LayoutResult.FULL) {
+                throw new IllegalArgumentException(LayoutExceptionMessageConstant.CANNOT_LAYOUT_TEMPLATE_ELEMENT);
+            }
+            this.templateRenderer = result.getSplitRenderer() == null ? renderer : result.getSplitRenderer();
+
+            final Rectangle occupiedBBox = templateRenderer.getOccupiedArea().getBBox();
+            templateRenderer.move(-occupiedBBox.getX(), -occupiedBBox.getY());
+            formXObject.setBBox(new PdfArray(new Rectangle(occupiedBBox.getWidth(), occupiedBBox.getHeight())));
+            templateRenderer.draw(new DrawContext(pdfDocument, canvas.getPdfCanvas()));
+        }
+    }
+
+    /**
+     * Declares a slot of the template.
+     *
+     * @param name the name of the slot
+     * @param slotElement the block element of the template which reserves the area for the slot content
+     *
+     * @return this {@link LayoutTemplate} instance
+     */
+    public LayoutTemplate addSlot(String name, IBlockElement slotElement) {
+        final IRenderer slotRenderer = findRenderer(templateRenderer, slotElement);
+        if (slotRenderer == null) {
+            throw new IllegalArgumentException(MessageFormatUtil.format(
+                    LayoutExceptionMessageConstant.TEMPLATE_SLOT_ELEMENT_NOT_FOUND, name));
+        }
+        slots.put(name, slotRenderer);
+        return this;
+    }
+
+    /**
+     * Gets the area of the slot relative to the bottom left corner of the template.
+     *
+     * @param name the name of the slot
+     *
+     * @return the inner area of the slot element
+     */
+    public Rectangle getSlotArea(String name) {
+        return getSlotRenderer(name).getInnerAreaBBox();
+    }
+
+    /**
+     * Gets the {@link PdfFormXObject} the template is drawn into.
+     *
+     * @return the form XObject of the template
+     */
+    public PdfFormXObject getFormXObject() {
+        return formXObject;
+    }
+
+    /**
+     * Gets the width of the laid out template.
+     *
+     * @return the width of the template
+     */
+    public float getWidth() {
+        return formXObject.getWidth();
+    }
+
+    /**
+     * Gets the height of the laid out template.
+     *
+     * @return the height of the template
+     */
+    public float getHeight() {
+        return formXObject.getHeight();
+    }
+
+    /**
+     * Draws the template on the canvas without substituting any slot.
+     *
+     * @param canvas the canvas to draw the template on
+     * @param x the x coordinate of the bottom left corner of the template
+     * @param y the y coordinate of the bottom left corner of the template
+     */
+    public void drawOn(PdfCanvas canvas, float x, float y) {
+        openArtifactIfNeeded(canvas);
+        canvas.addXObjectAt(formXObject, x, y);
+        closeArtifactIfNeeded(canvas);
+    }
+
+    /**
+     * Draws the template on the canvas and lays out the given texts within the corresponding slots.
+     * Only the slot texts are laid out, the rest of the template is drawn as is.
+     * <p>
+     * A slot text is not drawn outside of its slot area: if it doesn't fit, only its part which fits
+     * into the area is drawn, and if no part of it fits, it is not drawn at all. A warning is logged in both cases.
+     *
+     * @param canvas the canvas to draw the template on
+     * @param x the x coordinate of the bottom left corner of the template
+     * @param y the y coordinate of the bottom left corner of the template
+     * @param slotTexts texts to be drawn in the slots, mapped by slot names
+     */
+    public void drawOn(PdfCanvas canvas, float x, float y, Map<String, String> slotTexts) {
+        // the slots are checked before anything is written to the canvas
+        final List<AbstractRenderer> slotRenderers = new ArrayList<>(slotTexts.size());
+        for (final String name : slotTexts.keySet()) {
+            slotRenderers.add(getSlotRenderer(name));
+        }
+        openArtifactIfNeeded(canvas);
+        canvas.addXObjectAt(formXObject, x, y);
+        final DrawContext drawContext = new DrawContext(pdfDocument, canvas);
+        int slotIndex = 0;
+        for (final Map.Entry<String, String> slotText : slotTexts.entrySet()) {
+            final AbstractRenderer slotRenderer = slotRenderers.get(slotIndex++);
+            final Rectangle slotArea = slotRenderer.getInnerAreaBBox().moveRight(x).moveUp(y);
+
+            final Paragraph content = new Paragraph(slotText.getValue());
+            content.setMargin(0);
+            final IRenderer contentRenderer = content.createRendererSubTree().setParent(slotRenderer);
+            final LayoutResult result = contentRenderer.layout(new LayoutContext(new LayoutArea(1, slotArea)));
+            if (result.getStatus() == LayoutResult.FULL) {
+                contentRenderer.draw(drawContext);
+            } else if (result.getStatus() == LayoutResult.PARTIAL) {
+                LOGGER.warn(MessageFormatUtil.format(LayoutLogMessageConstant.TEMPLATE_SLOT_TEXT_IS_CLIPPED,
+                        slotText.getKey()));
+                result.getSplitRenderer().draw(drawContext);
+            } else {
+                LOGGER.warn(MessageFormatUtil.format(LayoutLogMessageConstant.TEMPLATE_SLOT_TEXT_IS_NOT_DRAWN,
+                        slotText.getKey()));
+            }
+        }
+        closeArtifactIfNeeded(canvas);
+    }
+
+    private void openArtifactIfNeeded(PdfCanvas canvas) {
+        if (pdfDocument.isTagged()) {
+            canvas.openTag(new CanvasArtifact());
+        }
+    }
+
+    private void closeArtifactIfNeeded(PdfCanvas canvas) {
+        if (pdfDocument.isTagged()) {
+            canvas.closeTag();
+        }
+    }
+
+    private AbstractRenderer getSlotRenderer(String name) {
+        final IRenderer slotRenderer = slots.get(name);
+        if (slotRenderer == null) {
+            throw new IllegalArgumentException(MessageFormatUtil.format(
+                    LayoutExceptionMessageConstant.TEMPLATE_SLOT_NOT_DEFINED, name));
+        }
+        return (AbstractRenderer) slotRenderer;
+    }
+
+    private static IRenderer findRenderer(IRenderer renderer, IBlockElement element) {
+        if (renderer.getModelElement() == element) {
+            return renderer;
+        }
+        for (final IRenderer child : renderer.getChildRenderers()) {
+            final IRenderer found = findRenderer(child, element);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+}
@@ -33,6 +33,8 @@ public final class LayoutExceptionMessageConstant {
             + "constructor.";
     public static final String CANNOT_DRAW_ELEMENTS_ON_ALREADY_FLUSHED_PAGES = "Cannot draw elements on already "
             + "flushed pages.";
+    public static final String CANNOT_LAYOUT_TEMPLATE_ELEMENT = "Template element cannot be fully laid out within "
+            + "the given width.";
     public static final String DOCUMENT_CLOSED_IT_IS_IMPOSSIBLE_TO_EXECUTE_ACTION = "Document was closed. It is "
             + "impossible to execute action.";
     public static final String FLEX_BASIS_CANNOT_BE_NULL = "Flex basis cannot be null.";
@@ -55,6 +57,9 @@ public final class LayoutExceptionMessageConstant {
             "Invalid column-count/column-width/column-gap properties, they're absent or have negative value";
     public static final String INVALID_FONT_PROPERTY_VALUE = "Invalid FONT property value type.";
     public static final String TAGGING_HINTKEY_SHOULD_HAVE_ACCES = "TaggingHintKey should have accessibility properties" ;
+    public static final String TEMPLATE_SLOT_ELEMENT_NOT_FOUND = "Element of template slot \"{0}\" is not a "
+            + "part of the laid out template.";
+    public static final String TEMPLATE_SLOT_NOT_DEFINED = "Template slot \"{0}\" is not defined.";
     public static final String GRID_AUTO_REPEAT_CAN_BE_USED_ONLY_ONCE
             = "Automatic repetitions in the grid template are allowed only once per template.";
     public static final String GRID_AUTO_REPEAT_CANNOT_BE_COMBINED_WITH_INDEFINITE_SIZES
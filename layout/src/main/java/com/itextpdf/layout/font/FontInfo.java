@@ -26,6 +26,7 @@ import com.itextpdf.io.font.FontCacheKey;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramDescriptor;
 import com.itextpdf.io.font.FontProgramDescriptorFactory;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.io.util.ArrayUtil;
 import com.itextpdf.commons.utils.MessageFormatUtil;
 import com.itextpdf.kernel.font.PdfFont;
@@ -87,10 +88,16 @@ public final class FontInfo {
     }
 
     static FontInfo create(String fontName, String encoding, String alias, Range range) {
+        return create(fontName, encoding, alias, range, null);
+    }
+
+    static FontInfo create(String fontName, String encoding, String alias, Range range,
+                           FontProgramDescriptorIndex descriptorIndex) {
         FontCacheKey cacheKey = FontCacheKey.create(fontName);
         FontProgramDescriptor descriptor = getFontNamesFromCache(cacheKey);
         if (descriptor == null) {
-            descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontName);
+            descriptor = descriptorIndex != null ? descriptorIndex.fetchDescriptor(fontName)
+                    : FontProgramDescriptorFactory.fetchDescriptor(fontName);
             putFontNamesToCache(cacheKey, descriptor);
         }
         return descriptor != null ? new FontInfo(fontName, null, encoding, descriptor, range, alias) : null;
@@ -25,10 +25,12 @@ package com.itextpdf.layout.font;
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.io.font.FontCache;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.kernel.exceptions.PdfException;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
@@ -71,6 +73,7 @@ public class FontProvider {
      */
     protected final String defaultFontFamily;
     protected final Map<FontInfo, PdfFont> pdfFonts;
+    private final Map<FontInfo, GlyphCoverage> glyphCoverages;
 
     private IFontSelectorStrategyFactory fontSelectorStrategyFactory;
 
@@ -108,6 +111,7 @@ public class FontProvider {
     public FontProvider(FontSet fontSet, String defaultFontFamily) {
         this.fontSet = fontSet != null ? fontSet : new FontSet();
         pdfFonts = new HashMap<>();
+        glyphCoverages = new HashMap<>();
         fontSelectorCache = new FontSelectorCache(this.fontSet);
         this.defaultFontFamily = defaultFontFamily;
         this.fontSelectorStrategyFactory = new FirstMathFontSelectorStrategyFactory();
@@ -244,12 +248,40 @@ public class FontProvider {
         return fontSet.addDirectory(dir);
     }
 
+    /**
+     * Add all the fonts from a directory using the index of the font descriptors,
+     * see {@link FontSet#addDirectory(String, boolean, FontProgramDescriptorIndex)}.
+     *
+     * @param dir path to directory.
+     * @param descriptorIndex index of the font descriptors.
+     *
+     * @return number of added fonts.
+     */
+    public int addDirectory(String dir, FontProgramDescriptorIndex descriptorIndex) {
+        return fontSet.addDirectory(dir, false, descriptorIndex);
+    }
+
     /**
      * Add all fonts from system directories to {@link FontSet} cache.
      *
      * @return number of added fonts.
      */
     public int addSystemFonts() {
+        return addSystemFonts(null);
+    }
+
+    /**
+     * Add all fonts from system directories to {@link FontSet} cache using the index of the font descriptors.
+     * <p>
+     * Only the fonts which are not indexed or were changed since they were indexed are parsed. Save the index
+     * with {@link FontProgramDescriptorIndex#save(String)} and load it on the next start to avoid parsing
+     * all the system fonts again.
+     *
+     * @param descriptorIndex index of the font descriptors, if {@code null} all the fonts are parsed.
+     *
+     * @return number of added fonts.
+     */
+    public int addSystemFonts(FontProgramDescriptorIndex descriptorIndex) {
         int count = 0;
         String[] withSubDirs = {
                 FileUtil.getFontsDir(),
@@ -260,7 +292,7 @@ public class FontProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += fontSet.addDirectory(directory, true);
+            count += fontSet.addDirectory(directory, true, descriptorIndex);
         }
 
         String[] withoutSubDirs = {
@@ -268,7 +300,7 @@ public class FontProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += fontSet.addDirectory(directory, false);
+            count += fontSet.addDirectory(directory, false, descriptorIndex);
         }
 
         return count;
@@ -530,17 +562,10 @@ public class FontProvider {
             if (additionalFonts != null) {
                 fontProgram = additionalFonts.getFontProgram(fontInfo);
             }
-            if (fontProgram == null) {
-                fontProgram = fontSet.getFontProgram(fontInfo);
-            }
             PdfFont pdfFont;
             try {
                 if (fontProgram == null) {
-                    if (fontInfo.getFontData() != null) {
-                        fontProgram = FontProgramFactory.createFont(fontInfo.getFontData(), getDefaultCacheFlag());
-                    } else {
-                        fontProgram = FontProgramFactory.createFont(fontInfo.getFontName(), getDefaultCacheFlag());
-                    }
+                    fontProgram = fontSet.getFontProgram(fontInfo, getDefaultCacheFlag());
                 }
                 String encoding = fontInfo.getEncoding();
                 if (encoding == null || encoding.length() == 0) {
@@ -570,11 +595,53 @@ public class FontProvider {
         }
     }
 
+    /**
+     * Checks whether the font described by the passed font info can be used to show the code point, i.e. whether
+     * the code point is within the font's unicode range and the {@link PdfFont} created for the font info
+     * has a non-notdef glyph for it.
+     * <p>
+     * The result is remembered per font info until {@link #reset()} is called, so that font fallback
+     * over a long list of fonts asks each {@link PdfFont} about each code point only once.
+     * The coverage is collected from the {@link PdfFont} instead of being precomputed from the {@link FontProgram},
+     * since for simple fonts it depends on the encoding the {@link PdfFont} is created with. Like the {@link PdfFont}
+     * cache, it belongs to the document the provider is currently used with and is not synchronized.
+     *
+     * @param fontInfo font info, to create {@link FontProgram} and {@link PdfFont}.
+     * @param additionalFonts set of additional fonts to consider.
+     * @param codePoint the code point to check.
+     *
+     * @return true, if the font has a glyph for the code point, otherwise false.
+     */
+    public boolean isCodePointCovered(FontInfo fontInfo, FontSet additionalFonts, int codePoint) {
+        if (!fontInfo.getFontUnicodeRange().contains(codePoint)) {
+            return false;
+        }
+        if (!GlyphCoverage.isRecordable(codePoint)) {
+            return containsGlyph(getPdfFont(fontInfo, additionalFonts), codePoint);
+        }
+        GlyphCoverage coverage = glyphCoverages.get(fontInfo);
+        if (coverage == null) {
+            coverage = new GlyphCoverage();
+            glyphCoverages.put(fontInfo, coverage);
+        } else if (coverage.isChecked(codePoint)) {
+            return coverage.isCovered(codePoint);
+        }
+        boolean isCovered = containsGlyph(getPdfFont(fontInfo, additionalFonts), codePoint);
+        coverage.record(codePoint, isCovered);
+        return isCovered;
+    }
+
     /**
      * Resets {@link FontProvider#pdfFonts PdfFont cache}.
      * After calling that method {@link FontProvider} can be reused with another {@link PdfDocument}
      */
     public void reset() {
         pdfFonts.clear();
+        glyphCoverages.clear();
+    }
+
+    private static boolean containsGlyph(PdfFont pdfFont, int codePoint) {
+        Glyph glyph = pdfFont.getGlyph(codePoint);
+        return glyph != null && glyph.getCode() != 0;
     }
 }
@@ -24,11 +24,14 @@ package com.itextpdf.layout.font;
 
 import com.itextpdf.io.logs.IoLogMessageConstant;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
+import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.commons.utils.FileUtil;
 import com.itextpdf.kernel.font.Type3Font;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -74,6 +77,22 @@ public final class FontSet {
      * @return number of added fonts.
      */
     public int addDirectory(String dir, boolean scanSubdirectories) {
+        return addDirectory(dir, scanSubdirectories, null);
+    }
+
+    /**
+     * Add all the fonts in a directory and possibly its subdirectories.
+     * <p>
+     * The descriptors of the fonts are taken from the passed index if the font files were not changed since
+     * they were indexed, so that these files are not parsed. The descriptors of the new and changed
+     * font files are added to the index, see {@link FontProgramDescriptorIndex#fetchDescriptor(String)}.
+     *
+     * @param dir                path to directory.
+     * @param scanSubdirectories recursively scan subdirectories if {@code true}.
+     * @param descriptorIndex    index of the font descriptors, if {@code null} all the fonts are parsed.
+     * @return number of added fonts.
+     */
+    public int addDirectory(String dir, boolean scanSubdirectories, FontProgramDescriptorIndex descriptorIndex) {
         int count = 0;
         String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
         if (files == null)
@@ -84,11 +103,11 @@ public final class FontSet {
                 if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
                     // Add only Type 1 fonts with matching .pfb files.
                     String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                    if (FileUtil.fileExists(pfb) && addFont(file)) {
+                    if (FileUtil.fileExists(pfb) && addFont(FontInfo.create(file, null, null, null, descriptorIndex))) {
                         count++;
                     }
                 } else if ((".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix))
-                        && addFont(file)) {
+                        && addFont(FontInfo.create(file, null, null, null, descriptorIndex))) {
                     count++;
                 }
             } catch (Exception ignored) {
@@ -439,5 +458,28 @@ public final class FontSet {
         return fontPrograms.get(fontInfo);
     }
 
+    /**
+     * Gets the {@link FontProgram} of the font info. Font programs added via
+     * {@link #addFont(FontProgram, String, String, Range)} are owned by this set and returned as is.
+     * The other ones are not kept by the set: they are created via {@link FontProgramFactory}, i.e. taken from
+     * {@link com.itextpdf.io.font.FontCache} if {@code cached} is set, so that they are subject to its footprint limit.
+     *
+     * @param fontInfo the font info to get the program for
+     * @param cached whether the font program should be taken from and saved to the font cache
+     * @return the font program of the font info
+     * @throws IOException if the font program cannot be read
+     */
+    FontProgram getFontProgram(FontInfo fontInfo, boolean cached) throws IOException {
+        FontProgram fontProgram = fontPrograms.get(fontInfo);
+        if (fontProgram != null) {
+            return fontProgram;
+        }
+        if (fontInfo.getFontData() != null) {
+            return FontProgramFactory.createFont(fontInfo.getFontData(), cached);
+        } else {
+            return FontProgramFactory.createFont(fontInfo.getFontName(), cached);
+        }
+    }
+
     //endregion
 }
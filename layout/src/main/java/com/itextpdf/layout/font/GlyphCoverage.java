@@ -0,0 +1,129 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+/**
+ * Compact record of which code points a single font has already been checked for and which of them it covers.
+ *
+ * <p>
+ * The code point space is split into pages of 1024 code points, each page keeps two bits per code point in 256
+ * bytes. Both the pages and the page directory of every Unicode plane are allocated only when a code point from them
+ * is recorded, so an empty record costs about a hundred bytes and a font used for a couple of scripts of
+ * the Basic Multilingual Plane costs about a kilobyte.
+ *
+ * @see FontProvider#isCodePointCovered(FontInfo, FontSet, int)
+ */
+final class GlyphCoverage {
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int PLANE_SHIFT = 16;
+    private static final int PAGES_PER_PLANE_MASK = (1 << (PLANE_SHIFT - PAGE_SHIFT)) - 1;
+    private static final int PLANES_COUNT = (Character.MAX_CODE_POINT >> PLANE_SHIFT) + 1;
+    // checked and covered words of the same 64 code points are kept next to each other
+    private static final int WORDS_PER_PAGE = 2 * ((1 << PAGE_SHIFT) >> 6);
+
+    private final long[][][] planes = new long[PLANES_COUNT][][];
+    private int pagesCount;
+
+    /**
+     * Checks whether the code point has already been recorded.
+     *
+     * @param codePoint the code point to check
+     *
+     * @return {@code true} if {@link #record(int, boolean)} has been called for the code point
+     */
+    boolean isChecked(int codePoint) {
+        return isSet(codePoint, 0);
+    }
+
+    /**
+     * Checks whether the code point has been recorded as covered.
+     *
+     * @param codePoint the code point to check
+     *
+     * @return {@code true} if the code point has been recorded as covered
+     */
+    boolean isCovered(int codePoint) {
+        return isSet(codePoint, 1);
+    }
+
+    /**
+     * Records the result of the coverage check of the code point.
+     *
+     * @param codePoint the checked code point
+     * @param isCovered whether the font has a glyph for the code point
+     */
+    void record(int codePoint, boolean isCovered) {
+        long[][] plane = planes[codePoint >> PLANE_SHIFT];
+        if (plane == null) {
+            plane = new long[PAGES_PER_PLANE_MASK + 1][];
+            planes[codePoint >> PLANE_SHIFT] = plane;
+        }
+        int pageIndex = (codePoint >> PAGE_SHIFT) & PAGES_PER_PLANE_MASK;
+        long[] page = plane[pageIndex];
+        if (page == null) {
+            page = new long[WORDS_PER_PAGE];
+            plane[pageIndex] = page;
+            ++pagesCount;
+        }
+        int bit = codePoint & PAGE_MASK;
+        int word = (bit >> 6) << 1;
+        page[word] |= 1L << bit;
+        if (isCovered) {
+            page[word + 1] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Gets the number of allocated pages of 1024 code points.
+     *
+     * @return the number of pages with at least one recorded code point
+     */
+    int getPagesCount() {
+        return pagesCount;
+    }
+
+    /**
+     * Checks whether the code point can be recorded, i.e. whether it is a valid Unicode code point.
+     *
+     * @param codePoint the code point to check
+     *
+     * @return {@code true} if the code point is within the Unicode code space
+     */
+    static boolean isRecordable(int codePoint) {
+        return codePoint >= 0 && codePoint <= Character.MAX_CODE_POINT;
+    }
+
+    private boolean isSet(int codePoint, int wordOffset) {
+        long[][] plane = planes[codePoint >> PLANE_SHIFT];
+        if (plane == null) {
+            return false;
+        }
+        long[] page = plane[(codePoint >> PAGE_SHIFT) & PAGES_PER_PLANE_MASK];
+        if (page == null) {
+            return false;
+        }
+        int bit = codePoint & PAGE_MASK;
+        return (page[((bit >> 6) << 1) + wordOffset] & (1L << bit)) != 0;
+    }
+}
@@ -188,13 +188,9 @@ public abstract class AbstractFontSelectorStrategy implements IFontSelectorStrat
     protected PdfFont matchFont(int codePoint, FontSelector fontSelector, FontProvider fontProvider, FontSet additionalFonts) {
         PdfFont matchedFont = null;
         for (FontInfo fontInfo : fontSelector.getFonts()) {
-            if (fontInfo.getFontUnicodeRange().contains(codePoint)) {
-                PdfFont temptFont = getPdfFont(fontInfo, fontProvider, additionalFonts);
-                Glyph glyph = temptFont.getGlyph(codePoint);
-                if (null != glyph && 0 != glyph.getCode()) {
-                    matchedFont = temptFont;
-                    break;
-                }
+            if (fontProvider.isCodePointCovered(fontInfo, additionalFonts, codePoint)) {
+                matchedFont = getPdfFont(fontInfo, fontProvider, additionalFonts);
+                break;
             }
         }
         return matchedFont;
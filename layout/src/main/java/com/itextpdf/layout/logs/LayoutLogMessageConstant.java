@@ -29,6 +29,12 @@ public final class LayoutLogMessageConstant {
 
     public static final String ELEMENT_DOES_NOT_FIT_AREA = "Element does not fit current area. {0}";
 
+    public static final String TEMPLATE_SLOT_TEXT_IS_CLIPPED = "Text of template slot \"{0}\" does not fit "
+            + "the slot area. Only the part which fits is drawn.";
+
+    public static final String TEMPLATE_SLOT_TEXT_IS_NOT_DRAWN = "Text of template slot \"{0}\" does not fit "
+            + "the slot area and is not drawn.";
+
     private LayoutLogMessageConstant() {
         //Private constructor will prevent the instantiation of this class directly
     }
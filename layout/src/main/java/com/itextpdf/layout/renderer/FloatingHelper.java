@@ -41,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -55,6 +56,8 @@ class FloatingHelper {
                                                   float clearHeightCorrection, MarginsCollapseHandler marginsCollapseHandler) {
 
         float topShift = clearHeightCorrection;
+        // Levels checked below only go down from here, so floats lying above cannot affect the box.
+        List<Rectangle> boxesBelowTop = getBoxesBelowYLevel(floatRendererAreas, layoutBox.getTop() - topShift);
         float left;
         float right;
         Rectangle[] lastLeftAndRightBoxes = null;
@@ -65,7 +68,7 @@ class FloatingHelper {
                 float updatedHeight = Math.min(bottomLeft, bottomRight) - layoutBox.getY();
                 topShift = layoutBox.getHeight() - updatedHeight;
             }
-            List<Rectangle> boxesAtYLevel = getBoxesAtYLevel(floatRendererAreas, layoutBox.getTop() - topShift);
+            List<Rectangle> boxesAtYLevel = getBoxesAtYLevel(boxesBelowTop, layoutBox.getTop() - topShift);
             if (boxesAtYLevel.isEmpty()) {
                 applyClearance(layoutBox, marginsCollapseHandler, topShift, false);
                 return topShift;
@@ -180,6 +183,8 @@ class FloatingHelper {
             // e.g. if clear was applied on float and current top of layoutBox is lower than last float renderer
             currY = layoutBox.getTop();
         }
+        // currY only decreases in the loop below, so floats lying above it are not relevant.
+        List<Rectangle> boxesBelowTop = getBoxesBelowYLevel(floatRendererAreas, currY);
         Rectangle[] lastLeftAndRightBoxes = null;
         float left = 0;
         float right = 0;
@@ -192,7 +197,7 @@ class FloatingHelper {
                 }
             }
             layoutBox.setHeight(currY - layoutBox.getY());
-            List<Rectangle> yLevelBoxes = getBoxesAtYLevel(floatRendererAreas, currY);
+            List<Rectangle> yLevelBoxes = getBoxesAtYLevel(boxesBelowTop, currY);
             if (yLevelBoxes.isEmpty()) {
                 if (!isFloatLeft) {
                     adjustBoxForFloatRight(layoutBox, blockWidth);
@@ -425,13 +430,52 @@ class FloatingHelper {
     }
 
     private static List<Rectangle> getBoxesAtYLevel(List<Rectangle> floatRendererAreas, float currY) {
-        List<Rectangle> yLevelBoxes = new ArrayList<>();
+        List<Rectangle> yLevelBoxes = null;
         for (Rectangle box : floatRendererAreas) {
             if (box.getBottom() + AbstractRenderer.EPS < currY && box.getTop() + AbstractRenderer.EPS >= currY) {
+                if (yLevelBoxes == null) {
+                    yLevelBoxes = new ArrayList<>();
+                }
                 yLevelBoxes.add(box);
             }
         }
-        return yLevelBoxes;
+        return yLevelBoxes == null ? Collections.<Rectangle>emptyList() : yLevelBoxes;
+    }
+
+    /**
+     * Gets the float boxes which can be found at the specified y level or at any level below it,
+     * preserving the order in which floats were added.
+     *
+     * <p>
+     * Floats are only removed from the list once the renderer which follows them is laid out, so on pages with
+     * a lot of floats most of them are usually located above the area being adjusted. Filtering them out once
+     * allows not to rescan them on each step of the adjustment loops. This is not an index of the floats by their
+     * vertical ranges: the floats below the level are still scanned on each step, so an area pushed down along
+     * a stack of floats costs time proportional to the number of steps times the number of those floats.
+     *
+     * @param floatRendererAreas the float boxes ordered by addition
+     * @param maxY the highest y level that will be checked
+     * @return the list of float boxes which bottoms are below the specified y level
+     */
+    static List<Rectangle> getBoxesBelowYLevel(List<Rectangle> floatRendererAreas, float maxY) {
+        int firstAboveIndex = -1;
+        for (int i = 0; i < floatRendererAreas.size(); i++) {
+            if (floatRendererAreas.get(i).getBottom() + AbstractRenderer.EPS >= maxY) {
+                firstAboveIndex = i;
+                break;
+            }
+        }
+        if (firstAboveIndex == -1) {
+            return floatRendererAreas;
+        }
+        List<Rectangle> boxesBelow = new ArrayList<>(floatRendererAreas.subList(0, firstAboveIndex));
+        for (int i = firstAboveIndex + 1; i < floatRendererAreas.size(); i++) {
+            Rectangle box = floatRendererAreas.get(i);
+            if (box.getBottom() + AbstractRenderer.EPS < maxY) {
+                boxesBelow.add(box);
+            }
+        }
+        return boxesBelow;
     }
 
     private static float calculateLowestFloatBottom(boolean isLeftOrBoth, boolean isRightOrBoth,
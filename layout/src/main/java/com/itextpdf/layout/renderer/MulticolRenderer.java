@@ -37,6 +37,7 @@ import com.itextpdf.layout.properties.OverflowPropertyValue;
 import com.itextpdf.layout.properties.Property;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -47,6 +48,8 @@ public class MulticolRenderer extends AbstractRenderer {
 
     private static final float ZERO_DELTA = 0.0001F;
     private ColumnHeightCalculator heightCalculator;
+    // the state of the step by step height increase for the current layout, see increaseHeightStepByStep
+    private LayoutInInfiniteHeightCalculator stepByStepHeightCalculator;
     private BlockRenderer elementRenderer;
     private int columnCount;
     private float columnWidth;
@@ -136,7 +139,12 @@ public class MulticolRenderer extends AbstractRenderer {
     @Override
     public IRenderer getNextRenderer() {
         logWarningIfGetNextRendererNotOverridden(MulticolRenderer.class, this.getClass());
-        return new MulticolRenderer((MulticolContainer) modelElement);
+        final MulticolRenderer nextRenderer = new MulticolRenderer((MulticolContainer) modelElement);
+        final ColumnHeightCalculator nextHeightCalculator = heightCalculator.getHeightCalculatorForNextRenderer();
+        if (nextHeightCalculator != null) {
+            nextRenderer.setHeightCalculator(nextHeightCalculator);
+        }
+        return nextRenderer;
     }
 
     /**
@@ -191,6 +199,13 @@ public class MulticolRenderer extends AbstractRenderer {
         }
 
         approximateHeight = inifiniteHeighOneColumnLayoutResult.getOccupiedArea().getBBox().getHeight() / columnCount;
+        // the step of the height increase is calculated anew for each layout
+        stepByStepHeightCalculator = null;
+        final Float initialHeight = heightCalculator.getInitialHeightOfEachColumn(this,
+                inifiniteHeighOneColumnLayoutResult);
+        if (initialHeight != null && initialHeight > approximateHeight) {
+            approximateHeight = (float) initialHeight;
+        }
         return balanceContentAndLayoutColumns(layoutContext, actualBBox);
     }
 
@@ -227,6 +242,22 @@ public class MulticolRenderer extends AbstractRenderer {
         return overflowRenderer;
     }
 
+    /**
+     * Calculates the height by which the columns should be increased in the same way as
+     * {@link LayoutInInfiniteHeightCalculator} does. Unlike that calculator, the height step is kept
+     * only for the current layout of this renderer.
+     *
+     * @param result result of one iteration of this renderer layouting
+     *
+     * @return height by which current height of the columns should be increased
+     */
+    Float increaseHeightStepByStep(MulticolLayoutResult result) {
+        if (stepByStepHeightCalculator == null) {
+            stepByStepHeightCalculator = new LayoutInInfiniteHeightCalculator();
+        }
+        return stepByStepHeightCalculator.getAdditionalHeightOfEachColumn(this, result);
+    }
+
     private void setOverflowForAllChildren(IRenderer renderer) {
         if (renderer == null || renderer instanceof AreaBreakRenderer) {
             return;
@@ -436,6 +467,31 @@ public class MulticolRenderer extends AbstractRenderer {
         Float getAdditionalHeightOfEachColumn(MulticolRenderer renderer, MulticolLayoutResult result);
 
         int maxAmountOfRelayouts();
+
+        /**
+         * Calculates the height of the columns for the first layout in columns. Called once on each layout
+         * of the {@code MulticolRenderer}. The height is only used if it is bigger than the height of
+         * the content in a single column divided by the number of columns.
+         *
+         * @param renderer             multicol renderer which is being laid out
+         * @param infiniteHeightResult result of the content layout in a single column of infinite height
+         *
+         * @return the initial height of the columns or {@code null} to start from the height of the content
+         * divided by the number of columns
+         */
+        default Float getInitialHeightOfEachColumn(MulticolRenderer renderer, LayoutResult infiniteHeightResult) {
+            return null;
+        }
+
+        /**
+         * Gets the height calculator for the split and overflow renderers of the {@code MulticolRenderer}.
+         *
+         * @return the height calculator to be passed to the next renderers or {@code null} to use the default one,
+         * e.g. if this calculator keeps state between its calls
+         */
+        default ColumnHeightCalculator getHeightCalculatorForNextRenderer() {
+            return null;
+        }
     }
 
     /**
@@ -502,4 +558,137 @@ public class MulticolRenderer extends AbstractRenderer {
             return maxRelayoutCount;
         }
     }
+
+    /**
+     * Height calculator which balances the columns by choosing break points directly.
+     * <p>
+     * Instead of increasing the height of the columns step by step and relayouting the whole content on each
+     * iteration, the initial column height is calculated from the layout of the content in a single column of
+     * infinite height, which {@link MulticolRenderer} does anyway. The bottoms of lines and blocks of that layout
+     * are treated as break opportunities, and the smallest column height which allows to distribute them over all
+     * the columns is used for the first layout in columns. Usually the content fits there. If it doesn't
+     * (e.g. because of keep together or widows and orphans control), the height is increased as
+     * {@link LayoutInInfiniteHeightCalculator} does.
+     * <p>
+     * The calculator keeps no state, so it may be shared by several renderers and is passed to the split and
+     * overflow renderers. The step of the fallback height increase is kept by the renderer for each layout.
+     */
+    public static class BreakOpportunitiesHeightCalculator implements ColumnHeightCalculator {
+
+        private static final float HEIGHT_PRECISION = 0.5F;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Float getAdditionalHeightOfEachColumn(MulticolRenderer renderer, MulticolLayoutResult result) {
+            return renderer.increaseHeightStepByStep(result);
+        }
+
+        /**
+         * @return maximum amount of relayouts which can be done by this height enhancer
+         */
+        @Override
+        public int maxAmountOfRelayouts() {
+            return new LayoutInInfiniteHeightCalculator().maxAmountOfRelayouts();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ColumnHeightCalculator getHeightCalculatorForNextRenderer() {
+            return this;
+        }
+
+        /**
+         * Calculates the smallest column height which allows to distribute the break opportunities
+         * of the content over all the columns.
+         *
+         * @param renderer multicol renderer which is being laid out
+         * @param infiniteHeightResult result of the content layout in a single column of infinite height
+         *
+         * @return the balanced height of the columns
+         */
+        @Override
+        public Float getInitialHeightOfEachColumn(MulticolRenderer renderer, LayoutResult infiniteHeightResult) {
+            final IRenderer content = infiniteHeightResult.getSplitRenderer() == null
+                    ? renderer.elementRenderer : infiniteHeightResult.getSplitRenderer();
+            final Rectangle contentBBox = content.getOccupiedArea().getBBox();
+            final float contentHeight = contentBBox.getHeight();
+
+            final List<Float> offsets = new ArrayList<>();
+            collectBreakOpportunities(content, contentBBox.getTop(), offsets);
+            Collections.sort(offsets);
+            final float[] breakOffsets = new float[offsets.size() + 1];
+            int breakOffsetsCount = 0;
+            for (final Float offset : offsets) {
+                final boolean isDuplicate = breakOffsetsCount > 0
+                        && (float) offset - breakOffsets[breakOffsetsCount - 1] <= ZERO_DELTA;
+                if ((float) offset > ZERO_DELTA && (float) offset < contentHeight && !isDuplicate) {
+                    breakOffsets[breakOffsetsCount++] = (float) offset;
+                }
+            }
+            breakOffsets[breakOffsetsCount++] = contentHeight;
+
+            // the greedy distribution of break opportunities is monotonic by the column height
+            float low = contentHeight / renderer.columnCount;
+            float high = contentHeight;
+            if (calculateUsedHeight(breakOffsets, breakOffsetsCount, low, renderer.columnCount) >= 0) {
+                high = low;
+            }
+            while (high - low > HEIGHT_PRECISION) {
+                final float middle = (low + high) / 2;
+                if (calculateUsedHeight(breakOffsets, breakOffsetsCount, middle, renderer.columnCount) >= 0) {
+                    high = middle;
+                } else {
+                    low = middle;
+                }
+            }
+            return calculateUsedHeight(breakOffsets, breakOffsetsCount, high, renderer.columnCount) + EPS;
+        }
+
+        private static void collectBreakOpportunities(IRenderer renderer, float contentTop, List<Float> offsets) {
+            if (renderer.getOccupiedArea() == null) {
+                return;
+            }
+            if (renderer instanceof ParagraphRenderer && ((ParagraphRenderer) renderer).lines != null) {
+                for (final LineRenderer line : ((ParagraphRenderer) renderer).lines) {
+                    offsets.add(contentTop - line.getOccupiedArea().getBBox().getBottom());
+                }
+            } else {
+                for (final IRenderer child : renderer.getChildRenderers()) {
+                    collectBreakOpportunities(child, contentTop, offsets);
+                }
+            }
+            offsets.add(contentTop - renderer.getOccupiedArea().getBBox().getBottom());
+        }
+
+        /**
+         * Greedily distributes break opportunities over the columns of the given height.
+         *
+         * @return the height of the tallest column or -1 if the content doesn't fit into the columns
+         */
+        private static float calculateUsedHeight(float[] breakOffsets, int breakOffsetsCount, float columnHeight,
+                int columnCount) {
+            float columnStart = 0;
+            float usedHeight = 0;
+            int index = 0;
+            for (int column = 0; column < columnCount; column++) {
+                int lastFitting = -1;
+                while (index < breakOffsetsCount && breakOffsets[index] - columnStart <= columnHeight) {
+                    lastFitting = index++;
+                }
+                if (lastFitting == -1) {
+                    return -1;
+                }
+                usedHeight = Math.max(usedHeight, breakOffsets[lastFitting] - columnStart);
+                if (lastFitting == breakOffsetsCount - 1) {
+                    return usedHeight;
+                }
+                columnStart = breakOffsets[lastFitting];
+            }
+            return -1;
+        }
+    }
 }
@@ -932,13 +932,20 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     // It does not apply to occurrences of the byte value 32 in multiple-byte codes.
                     //
                     // For PdfType0Font we must add word manually with glyph offsets
+                    final short advance = (short) (FontProgram.convertGlyphSpaceToTextSpace((float) wordSpacing)
+                            / fontSize.getValue());
+                    // Spaces of a line are usually the same glyph, so a single adjusted copy is shared between them
+                    Glyph lastSpace = null;
+                    Glyph lastSpaceCopy = null;
                     for (int gInd = line.start; gInd < line.end; gInd++) {
-                        if (TextUtil.isUni0020(line.get(gInd))) {
-                            final short advance = (short) (FontProgram.convertGlyphSpaceToTextSpace((float) wordSpacing)
-                                    / fontSize.getValue());
-                            Glyph copy = new Glyph(line.get(gInd));
-                            copy.setXAdvance(advance);
-                            line.set(gInd, copy);
+                        Glyph glyph = line.get(gInd);
+                        if (TextUtil.isUni0020(glyph)) {
+                            if (glyph != lastSpace) {
+                                lastSpace = glyph;
+                                lastSpaceCopy = new Glyph(glyph);
+                                lastSpaceCopy.setXAdvance(advance);
+                            }
+                            line.set(gInd, lastSpaceCopy);
                         }
                     }
                 } else {
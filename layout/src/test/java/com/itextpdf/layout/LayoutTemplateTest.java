@@ -0,0 +1,204 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.commons.utils.MessageFormatUtil;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.exceptions.LayoutExceptionMessageConstant;
+import com.itextpdf.layout.logs.LayoutLogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class LayoutTemplateTest extends ExtendedITextTest {
+
+    @Test
+    public void templateLaidOutOnceAndDrawnOnEachPageTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Div header = new Div();
+        header.add(new Paragraph("Company header"));
+        Div nameSlot = new Div().setHeight(20);
+        header.add(nameSlot);
+
+        LayoutTemplate template = new LayoutTemplate(header, 300, pdfDocument).addSlot("name", nameSlot);
+        Assertions.assertEquals(300, template.getWidth(), 1e-4);
+        Rectangle slotArea = template.getSlotArea("name");
+        Assertions.assertEquals(0, slotArea.getY(), 1e-4);
+        Assertions.assertEquals(20, slotArea.getHeight(), 1e-4);
+        Assertions.assertTrue(template.getHeight() > slotArea.getHeight());
+
+        for (int i = 1; i <= 3; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            template.drawOn(new PdfCanvas(page), 36, 700, Collections.singletonMap("name", "Recipient " + i));
+            Assertions.assertNotNull(page.getResources().getResourceName(template.getFormXObject()));
+        }
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfDictionary firstPageXObjects = resultDocument.getPage(1).getResources().getResource(PdfName.XObject);
+        Assertions.assertEquals(1, firstPageXObjects.size());
+        PdfName templateName = firstPageXObjects.keySet().iterator().next();
+        for (int i = 1; i <= 3; i++) {
+            PdfPage page = resultDocument.getPage(i);
+            String text = PdfTextExtractor.getTextFromPage(page);
+            Assertions.assertTrue(text.contains("Company header"));
+            Assertions.assertTrue(text.contains("Recipient " + i));
+            // the same form XObject is drawn on each page
+            PdfObject templateReference = page.getResources().getResource(PdfName.XObject)
+                    .get(templateName, false);
+            Assertions.assertTrue(templateReference.isIndirectReference());
+            Assertions.assertEquals(firstPageXObjects.get(templateName, false), templateReference);
+        }
+        resultDocument.close();
+    }
+
+    @Test
+    public void templateDrawnAsArtifactInTaggedDocumentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        pdfDocument.setTagged();
+        Div footer = new Div();
+        footer.add(new Paragraph("Company footer"));
+        Div pageSlot = new Div().setHeight(20);
+        footer.add(pageSlot);
+        LayoutTemplate template = new LayoutTemplate(footer, 300, pdfDocument).addSlot("page", pageSlot);
+
+        PdfPage page = pdfDocument.addNewPage();
+        template.drawOn(new PdfCanvas(page), 36, 36, Collections.singletonMap("page", "Page 1"));
+        String content = new String(page.getContentBytes(), "ISO-8859-1").trim();
+        Assertions.assertTrue(content.startsWith("/Artifact BMC"));
+        Assertions.assertTrue(content.endsWith("EMC"));
+        Assertions.assertTrue(content.indexOf("EMC") == content.length() - 3);
+        Assertions.assertTrue(content.contains("Tj") || content.contains("TJ"));
+        pdfDocument.close();
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LayoutLogMessageConstant.TEMPLATE_SLOT_TEXT_IS_CLIPPED))
+    public void slotTextDoesNotFitSlotAreaTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Div footer = new Div();
+        Div noteSlot = new Div().setHeight(20);
+        footer.add(noteSlot);
+        LayoutTemplate template = new LayoutTemplate(footer, 100, pdfDocument).addSlot("note", noteSlot);
+
+        template.drawOn(new PdfCanvas(pdfDocument.addNewPage()), 36, 36,
+                Collections.singletonMap("note", "First line of the note. Second line of the note."));
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String text = PdfTextExtractor.getTextFromPage(resultDocument.getPage(1));
+        Assertions.assertTrue(text.contains("First"));
+        Assertions.assertFalse(text.contains("Second"));
+        resultDocument.close();
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LayoutLogMessageConstant.TEMPLATE_SLOT_TEXT_IS_NOT_DRAWN))
+    public void slotTextDoesNotFitSlotAreaAtAllTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        Div footer = new Div();
+        footer.add(new Paragraph("Company footer"));
+        Div noteSlot = new Div().setHeight(2);
+        footer.add(noteSlot);
+        LayoutTemplate template = new LayoutTemplate(footer, 300, pdfDocument).addSlot("note", noteSlot);
+
+        template.drawOn(new PdfCanvas(pdfDocument.addNewPage()), 36, 36, Collections.singletonMap("note", "Note"));
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        String text = PdfTextExtractor.getTextFromPage(resultDocument.getPage(1));
+        Assertions.assertTrue(text.contains("Company footer"));
+        Assertions.assertFalse(text.contains("Note"));
+        resultDocument.close();
+    }
+
+    @Test
+    public void undefinedSlotTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        LayoutTemplate template = new LayoutTemplate(new Paragraph("Footer"), 300, pdfDocument);
+        PdfCanvas canvas = new PdfCanvas(pdfDocument.addNewPage());
+
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.drawOn(canvas, 0, 0, Collections.singletonMap("page", "1")));
+        Assertions.assertEquals(MessageFormatUtil.format(LayoutExceptionMessageConstant.TEMPLATE_SLOT_NOT_DEFINED,
+                "page"), e.getMessage());
+    }
+
+    @Test
+    public void undefinedSlotDoesNotOpenArtifactTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDocument.setTagged();
+        LayoutTemplate template = new LayoutTemplate(new Paragraph("Footer"), 300, pdfDocument);
+        PdfPage page = pdfDocument.addNewPage();
+        PdfCanvas canvas = new PdfCanvas(page);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.drawOn(canvas, 0, 0, Collections.singletonMap("page", "1")));
+        Assertions.assertEquals(0, page.getContentBytes().length);
+    }
+
+    @Test
+    public void templateHigherThanPageTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Div element = new Div().setHeight(3000);
+        element.add(new Paragraph("Tall template"));
+
+        LayoutTemplate template = new LayoutTemplate(element, 300, pdfDocument);
+        Assertions.assertEquals(3000, template.getHeight(), 1e-4);
+    }
+
+    @Test
+    public void slotElementNotInTemplateTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        LayoutTemplate template = new LayoutTemplate(new Paragraph("Footer"), 300, pdfDocument);
+
+        Exception e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.addSlot("page", new Div()));
+        Assertions.assertEquals(MessageFormatUtil.format(
+                LayoutExceptionMessageConstant.TEMPLATE_SLOT_ELEMENT_NOT_FOUND, "page"), e.getMessage());
+    }
+}
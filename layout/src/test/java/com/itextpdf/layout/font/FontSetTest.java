@@ -0,0 +1,86 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.FontCache;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class FontSetTest extends ExtendedITextTest {
+
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @BeforeEach
+    public void before() {
+        FontCache.clearSavedFonts();
+    }
+
+    @AfterEach
+    public void after() {
+        FontCache.clearSavedFonts();
+    }
+
+    @Test
+    public void fontProgramOfPathFontTakenFromFontCacheTest() throws IOException {
+        FontSet fontSet = new FontSet();
+        Assertions.assertTrue(fontSet.addFont(FONTS_FOLDER + "FreeSans.ttf"));
+        FontInfo fontInfo = fontSet.getFonts().iterator().next();
+
+        FontProgram fontProgram = fontSet.getFontProgram(fontInfo, true);
+        Assertions.assertSame(fontProgram, FontCache.getFont(FONTS_FOLDER + "FreeSans.ttf"));
+        Assertions.assertSame(fontProgram, fontSet.getFontProgram(fontInfo, true));
+
+        // the set doesn't keep the program, so it is created anew once evicted from the cache
+        FontCache.clearSavedFonts();
+        Assertions.assertNotSame(fontProgram, fontSet.getFontProgram(fontInfo, true));
+    }
+
+    @Test
+    public void fontProgramOfPathFontNotCachedTest() throws IOException {
+        FontSet fontSet = new FontSet();
+        Assertions.assertTrue(fontSet.addFont(FONTS_FOLDER + "FreeSans.ttf"));
+        FontInfo fontInfo = fontSet.getFonts().iterator().next();
+
+        Assertions.assertNotNull(fontSet.getFontProgram(fontInfo, false));
+        Assertions.assertNull(FontCache.getFont(FONTS_FOLDER + "FreeSans.ttf"));
+    }
+
+    @Test
+    public void addedFontProgramOwnedBySetTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(FONTS_FOLDER + "FreeSans.ttf", false);
+        FontSet fontSet = new FontSet();
+        Assertions.assertTrue(fontSet.addFont(fontProgram, null, null, null));
+        FontInfo fontInfo = fontSet.getFonts().iterator().next();
+
+        Assertions.assertSame(fontProgram, fontSet.getFontProgram(fontInfo, true));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.test.ExtendedITextTest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class GlyphCoverageTest extends ExtendedITextTest {
+
+    @Test
+    public void recordedCodePointsTest() {
+        GlyphCoverage coverage = new GlyphCoverage();
+        coverage.record('A', true);
+        coverage.record(0x4E00, false);
+        coverage.record(Character.MAX_CODE_POINT, true);
+
+        Assertions.assertTrue(coverage.isChecked('A'));
+        Assertions.assertTrue(coverage.isCovered('A'));
+        Assertions.assertTrue(coverage.isChecked(0x4E00));
+        Assertions.assertFalse(coverage.isCovered(0x4E00));
+        Assertions.assertTrue(coverage.isChecked(Character.MAX_CODE_POINT));
+        Assertions.assertTrue(coverage.isCovered(Character.MAX_CODE_POINT));
+
+        Assertions.assertFalse(coverage.isChecked('B'));
+        Assertions.assertFalse(coverage.isChecked('A' + 64));
+        Assertions.assertFalse(coverage.isChecked(0x1F600));
+        Assertions.assertFalse(coverage.isCovered(0x1F600));
+    }
+
+    @Test
+    public void pagesAreAllocatedLazilyTest() {
+        GlyphCoverage coverage = new GlyphCoverage();
+        Assertions.assertEquals(0, coverage.getPagesCount());
+        Assertions.assertFalse(coverage.isChecked('A'));
+        Assertions.assertEquals(0, coverage.getPagesCount());
+
+        coverage.record('A', true);
+        coverage.record('z', false);
+        Assertions.assertEquals(1, coverage.getPagesCount());
+        coverage.record(0x4E00, true);
+        coverage.record(0x1F600, true);
+        Assertions.assertEquals(3, coverage.getPagesCount());
+        Assertions.assertFalse(coverage.isChecked(0x4E00 + 1024));
+        Assertions.assertFalse(coverage.isChecked(0x1F600 - 0x10000));
+    }
+
+    @Test
+    public void recordableCodePointsTest() {
+        Assertions.assertTrue(GlyphCoverage.isRecordable(0));
+        Assertions.assertTrue(GlyphCoverage.isRecordable(Character.MAX_CODE_POINT));
+        Assertions.assertFalse(GlyphCoverage.isRecordable(-1));
+        Assertions.assertFalse(GlyphCoverage.isRecordable(Character.MAX_CODE_POINT + 1));
+    }
+
+    @Test
+    public void fontProviderCodePointCoverageTest() {
+        FontProvider provider = new FontProvider();
+        provider.addFont(StandardFonts.HELVETICA);
+        FontInfo fontInfo = provider.getFontSet().getFonts().iterator().next();
+
+        Assertions.assertTrue(provider.isCodePointCovered(fontInfo, null, 'A'));
+        Assertions.assertFalse(provider.isCodePointCovered(fontInfo, null, 0x4E00));
+        PdfFont pdfFont = provider.getPdfFont(fontInfo);
+        // Repeated checks are answered from the coverage without creating a new PdfFont
+        Assertions.assertTrue(provider.isCodePointCovered(fontInfo, null, 'A'));
+        Assertions.assertFalse(provider.isCodePointCovered(fontInfo, null, 0x4E00));
+        Assertions.assertSame(pdfFont, provider.getPdfFont(fontInfo));
+    }
+
+    @Test
+    public void fontProviderUnicodeRangeTest() {
+        FontProvider provider = new FontProvider();
+        provider.getFontSet().addFont(StandardFonts.HELVETICA, null, null, new RangeBuilder('0', '9').create());
+        FontInfo fontInfo = provider.getFontSet().getFonts().iterator().next();
+
+        Assertions.assertTrue(provider.isCodePointCovered(fontInfo, null, '5'));
+        Assertions.assertFalse(provider.isCodePointCovered(fontInfo, null, 'A'));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2024 Apryse Group NV
+    Authors: Apryse Software.
+
+    This program is offered under a commercial and under the AGPL license.
+    For commercial licensing, contact us at https://itextpdf.com/sales.  For AGPL licensing, see below.
+
+    AGPL licensing:
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published by
+    the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.test.ExtendedITextTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("UnitTest")
+public class FloatingHelperUnitTest extends ExtendedITextTest {
+
+    @Test
+    public void boxesBelowYLevelKeepAdditionOrderTest() {
+        Rectangle above = new Rectangle(0, 700, 100, 100);
+        Rectangle crossing = new Rectangle(0, 550, 100, 200);
+        Rectangle anotherAbove = new Rectangle(200, 600, 100, 100);
+        Rectangle below = new Rectangle(200, 100, 100, 100);
+        List<Rectangle> floats = Arrays.asList(crossing, above, anotherAbove, below);
+
+        List<Rectangle> boxesBelow = FloatingHelper.getBoxesBelowYLevel(floats, 600);
+        Assertions.assertEquals(Arrays.asList(crossing, below), boxesBelow);
+    }
+
+    @Test
+    public void boxesBelowYLevelReturnsSameListIfNothingIsAboveTest() {
+        List<Rectangle> floats = Arrays.asList(new Rectangle(0, 500, 100, 100), new Rectangle(0, 100, 100, 100));
+        Assertions.assertSame(floats, FloatingHelper.getBoxesBelowYLevel(floats, 700));
+    }
+
+    @Test
+    public void lineAreaIsNotAffectedByFloatsAboveTest() {
+        List<Rectangle> floats = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            floats.add(new Rectangle(0, 800 - i * 10, 300, 10));
+        }
+        Rectangle lineBox = new Rectangle(0, 200, 500, 100);
+        FloatingHelper.adjustLineAreaAccordingToFloats(floats, lineBox);
+        Assertions.assertTrue(new Rectangle(0, 200, 500, 100).equalsWithEpsilon(lineBox));
+    }
+
+    @Test
+    public void boxIsMovedUnderStackedFloatsTest() {
+        List<Rectangle> floats = new ArrayList<>();
+        // Left floats far above the box shall be ignored, right floats stacked at the top of the box shall be skipped.
+        floats.add(new Rectangle(0, 700, 300, 50));
+        floats.add(new Rectangle(400, 450, 100, 50));
+        floats.add(new Rectangle(400, 400, 100, 50));
+        floats.add(new Rectangle(400, 350, 100, 50));
+        Rectangle layoutBox = new Rectangle(0, 0, 500, 500);
+        float topShift = FloatingHelper.adjustLayoutBoxAccordingToFloats(floats, layoutBox, 450f, 0, null);
+        Assertions.assertEquals(150, topShift, 1e-4);
+        Assertions.assertTrue(new Rectangle(0, 0, 500, 350).equalsWithEpsilon(layoutBox));
+    }
+
+    @Test
+    public void boxIsMovedUnderStackedFloatsBelowManyFloatsTest() {
+        List<Rectangle> floats = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            floats.add(new Rectangle(i % 2 == 0 ? 0 : 400, 30000 - i * 10, 100, 10));
+        }
+        // the floats stacked at the top of the box are interleaved with the ones above it
+        for (int i = 0; i < 50; i++) {
+            floats.add(i * 40, new Rectangle(100, 9000 - (i + 1) * 10, 400, 10));
+        }
+        Rectangle layoutBox = new Rectangle(0, 0, 500, 9000);
+        float topShift = FloatingHelper.adjustLayoutBoxAccordingToFloats(floats, layoutBox, 450f, 0, null);
+        Assertions.assertEquals(500, topShift, 1e-4);
+        Assertions.assertTrue(new Rectangle(0, 0, 500, 8500).equalsWithEpsilon(layoutBox));
+    }
+}
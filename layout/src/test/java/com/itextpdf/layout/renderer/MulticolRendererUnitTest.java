@@ -122,6 +122,141 @@ public class MulticolRendererUnitTest extends ExtendedITextTest {
                 .getChildRenderers().get(0)).getLines().size());
     }
 
+    @Test
+    public void breakOpportunitiesHeightCalculatorTest() throws IOException {
+        MulticolRenderer defaultRenderer = createMultiParagraphsRenderer();
+        LayoutResult defaultResult = defaultRenderer.layout(
+                new LayoutContext(new LayoutArea(1, new Rectangle(600f, 1000f))));
+
+        MulticolRenderer renderer = createMultiParagraphsRenderer();
+        CountingBreakOpportunitiesHeightCalculator calculator = new CountingBreakOpportunitiesHeightCalculator();
+        renderer.setHeightCalculator(calculator);
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(600f, 1000f))));
+
+        Assertions.assertEquals(LayoutResult.FULL, defaultResult.getStatus());
+        Assertions.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assertions.assertEquals(3, result.getSplitRenderer().getChildRenderers().size());
+        // columns are balanced on the first layout and aren't higher than the step by step balanced ones
+        Assertions.assertEquals(1, calculator.balancedHeightCallsCount);
+        Assertions.assertEquals(0, calculator.additionalHeightCallsCount);
+        Assertions.assertTrue(result.getOccupiedArea().getBBox().getHeight()
+                <= defaultResult.getOccupiedArea().getBBox().getHeight());
+    }
+
+    @Test
+    public void breakOpportunitiesHeightCalculatorRelayoutTest() throws IOException {
+        MulticolRenderer renderer = createMultiParagraphsRenderer();
+        CountingBreakOpportunitiesHeightCalculator calculator = new CountingBreakOpportunitiesHeightCalculator();
+        renderer.setHeightCalculator(calculator);
+        LayoutContext layoutContext = new LayoutContext(new LayoutArea(1, new Rectangle(600f, 1000f)));
+        float firstHeight = renderer.layout(layoutContext).getOccupiedArea().getBBox().getHeight();
+        LayoutResult result = renderer.layout(layoutContext);
+
+        Assertions.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assertions.assertEquals(firstHeight, result.getOccupiedArea().getBBox().getHeight(), 0.001);
+        Assertions.assertEquals(2, calculator.balancedHeightCallsCount);
+        Assertions.assertEquals(0, calculator.additionalHeightCallsCount);
+    }
+
+    @Test
+    public void breakOpportunitiesHeightCalculatorPassedToOverflowRendererTest() throws IOException {
+        MulticolRenderer renderer = createMultiParagraphsRenderer();
+        CountingBreakOpportunitiesHeightCalculator calculator = new CountingBreakOpportunitiesHeightCalculator();
+        renderer.setHeightCalculator(calculator);
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(600f, 100f))));
+        Assertions.assertEquals(LayoutResult.PARTIAL, result.getStatus());
+        int callsCount = calculator.balancedHeightCallsCount;
+
+        LayoutResult overflowResult = result.getOverflowRenderer().layout(
+                new LayoutContext(new LayoutArea(2, new Rectangle(600f, 1000f))));
+        Assertions.assertEquals(LayoutResult.FULL, overflowResult.getStatus());
+        Assertions.assertEquals(callsCount + 1, calculator.balancedHeightCallsCount);
+    }
+
+    @Test
+    public void customHeightCalculatorIsNotPassedToOverflowRendererTest() throws IOException {
+        MulticolRenderer renderer = createKeepTogetherRenderer(3);
+        CountingHeightCalculator calculator = new CountingHeightCalculator();
+        renderer.setHeightCalculator(calculator);
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(600f, 300f))));
+        Assertions.assertEquals(LayoutResult.PARTIAL, result.getStatus());
+        int callsCount = calculator.additionalHeightCallsCount;
+
+        LayoutResult overflowResult = result.getOverflowRenderer().layout(
+                new LayoutContext(new LayoutArea(2, new Rectangle(600f, 1000f))));
+        Assertions.assertEquals(LayoutResult.FULL, overflowResult.getStatus());
+        Assertions.assertEquals(callsCount, calculator.additionalHeightCallsCount);
+    }
+
+    @Test
+    public void breakOpportunitiesHeightCalculatorSharedByRenderersTest() throws IOException {
+        LayoutContext layoutContext = new LayoutContext(new LayoutArea(1, new Rectangle(600f, 1000f)));
+        MulticolRenderer expectedRenderer = createKeepTogetherRenderer(3);
+        expectedRenderer.setHeightCalculator(new MulticolRenderer.BreakOpportunitiesHeightCalculator());
+        float expectedHeight = expectedRenderer.layout(layoutContext).getOccupiedArea().getBBox().getHeight();
+
+        CountingBreakOpportunitiesHeightCalculator calculator = new CountingBreakOpportunitiesHeightCalculator();
+        MulticolRenderer first = createKeepTogetherRenderer(3);
+        first.setHeightCalculator(calculator);
+        MulticolRenderer second = createKeepTogetherRenderer(5);
+        second.setHeightCalculator(calculator);
+        // the second renderer is laid out in between the relayouts of the first one
+        calculator.onAdditionalHeight = () -> second.layout(layoutContext);
+        LayoutResult result = first.layout(layoutContext);
+
+        Assertions.assertTrue(calculator.additionalHeightCallsCount > 0);
+        Assertions.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assertions.assertEquals(expectedHeight, result.getOccupiedArea().getBBox().getHeight(), 0.001);
+    }
+
+    @Test
+    public void customHeightCalculatorInitialHeightTest() throws IOException {
+        MulticolRenderer renderer = createMultiParagraphsRenderer();
+        CountingHeightCalculator calculator = new CountingHeightCalculator();
+        calculator.initialHeight = 800f;
+        renderer.setHeightCalculator(calculator);
+        LayoutResult result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(600f, 1000f))));
+
+        Assertions.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assertions.assertEquals(800f, result.getOccupiedArea().getBBox().getHeight(), 0.001);
+        Assertions.assertEquals(0, calculator.additionalHeightCallsCount);
+    }
+
+    private static MulticolRenderer createKeepTogetherRenderer(int sentencesStep) throws IOException {
+        Div columnContainer = new MulticolContainer();
+        Div child = new Div();
+        for (int i = 0; i < 4; i++) {
+            Paragraph paragraph = new Paragraph("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do "
+                    + "eiusmod tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis "
+                    + "nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.");
+            for (int j = 0; j < i * sentencesStep; j++) {
+                paragraph.add(" Duis aute irure dolor in reprehenderit in voluptate velit esse cillum dolore.");
+            }
+            paragraph.setKeepTogether(true);
+            child.add(fillTextProperties(paragraph));
+        }
+        columnContainer.add(child);
+        columnContainer.setProperty(Property.COLUMN_COUNT, 3);
+        return (MulticolRenderer) columnContainer.createRendererSubTree();
+    }
+
+    private static MulticolRenderer createMultiParagraphsRenderer() throws IOException {
+        Div columnContainer = new MulticolContainer();
+        Div child = new Div();
+        for (int i = 0; i < 7; i++) {
+            Paragraph paragraph = new Paragraph("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do "
+                    + "eiusmod tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis "
+                    + "nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.");
+            for (int j = 0; j < i % 3; j++) {
+                paragraph.add(" Duis aute irure dolor in reprehenderit in voluptate velit esse cillum dolore.");
+            }
+            child.add(fillTextProperties(paragraph));
+        }
+        columnContainer.add(child);
+        columnContainer.setProperty(Property.COLUMN_COUNT, 3);
+        return (MulticolRenderer) columnContainer.createRendererSubTree();
+    }
+
     private static IBlockElement fillTextProperties(IBlockElement container) throws IOException {
         container.setProperty(Property.TEXT_RISE, 5.0f);
         container.setProperty(Property.CHARACTER_SPACING, 5.0f);
@@ -131,4 +266,53 @@ public class MulticolRendererUnitTest extends ExtendedITextTest {
         container.setProperty(Property.SPLIT_CHARACTERS, new DefaultSplitCharacters());
         return container;
     }
+
+    private static class CountingBreakOpportunitiesHeightCalculator
+            extends MulticolRenderer.BreakOpportunitiesHeightCalculator {
+        private int balancedHeightCallsCount = 0;
+        private int additionalHeightCallsCount = 0;
+        private Runnable onAdditionalHeight;
+
+        @Override
+        public Float getInitialHeightOfEachColumn(MulticolRenderer renderer, LayoutResult infiniteHeightResult) {
+            balancedHeightCallsCount++;
+            return super.getInitialHeightOfEachColumn(renderer, infiniteHeightResult);
+        }
+
+        @Override
+        public Float getAdditionalHeightOfEachColumn(MulticolRenderer renderer,
+                MulticolRenderer.MulticolLayoutResult result) {
+            additionalHeightCallsCount++;
+            if (onAdditionalHeight != null) {
+                Runnable action = onAdditionalHeight;
+                onAdditionalHeight = null;
+                action.run();
+            }
+            return super.getAdditionalHeightOfEachColumn(renderer, result);
+        }
+    }
+
+    private static class CountingHeightCalculator implements MulticolRenderer.ColumnHeightCalculator {
+        private final MulticolRenderer.LayoutInInfiniteHeightCalculator calculator =
+                new MulticolRenderer.LayoutInInfiniteHeightCalculator();
+        private int additionalHeightCallsCount = 0;
+        private Float initialHeight;
+
+        @Override
+        public Float getAdditionalHeightOfEachColumn(MulticolRenderer renderer,
+                MulticolRenderer.MulticolLayoutResult result) {
+            additionalHeightCallsCount++;
+            return calculator.getAdditionalHeightOfEachColumn(renderer, result);
+        }
+
+        @Override
+        public Float getInitialHeightOfEachColumn(MulticolRenderer renderer, LayoutResult infiniteHeightResult) {
+            return initialHeight;
+        }
+
+        @Override
+        public int maxAmountOfRelayouts() {
+            return calculator.maxAmountOfRelayouts();
+        }
+    }
 }